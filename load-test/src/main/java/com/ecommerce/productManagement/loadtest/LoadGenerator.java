@@ -0,0 +1,151 @@
+package com.ecommerce.productManagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a running instance with an open-loop workload: request i is due at start + i / rate,
+ * whether or not earlier requests have completed. Latency is measured from that due time rather than
+ * from the moment the request was actually sent, so time spent queued behind a slow request is counted
+ * (correction for coordinated omission). The time from send to response is reported as service time.
+ * Requests due during the warmup are sent but never recorded, however late they complete.
+ * <p>
+ * Usage: {@code mvnw -f load-test/pom.xml compile exec:java -Dexec.args="--rate=500 --durationSeconds=60"}.
+ */
+public class LoadGenerator {
+
+    private final LoadTestConfig config;
+    private final ProductClient client;
+    private final Map<Operation, Recorder> responseTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, Recorder> serviceTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong sequence = new AtomicLong();
+
+    public LoadGenerator(LoadTestConfig config) {
+        this.config = config;
+        this.client = new ProductClient(config);
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, new Recorder(3));
+            serviceTimes.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        LoadTestReport report = new LoadGenerator(config).run();
+        report.print(System.out);
+        Path written = report.write(Path.of(config.reportDir()));
+        System.out.println("Report written to " + written);
+        if (config.baseline() != null) {
+            report.compareWith(Path.of(config.baseline()), System.out);
+        }
+    }
+
+    /**
+     * Prepares the keys, sends the warmup load, then measures for the configured duration.
+     *
+     * @return the measurements of the run.
+     */
+    public LoadTestReport run() throws IOException, InterruptedException {
+        long[] ids = prepareKeys();
+        ZipfianGenerator keys = new ZipfianGenerator(ids.length, config.zipfExponent());
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds());
+        long end = measureStart + TimeUnit.SECONDS.toNanos(config.durationSeconds());
+
+        ExecutorService workers = Executors.newFixedThreadPool(config.concurrency());
+        for (int worker = 0; worker < config.concurrency(); worker++) {
+            SplittableRandom random = new SplittableRandom(config.seed() + worker);
+            workers.execute(() -> work(ids, keys, random, start, intervalNanos, measureStart, end));
+        }
+
+        LockSupport.parkNanos(measureStart - System.nanoTime());
+        Instant startedAt = Instant.now();
+
+        workers.shutdown();
+        if (!workers.awaitTermination(config.warmupSeconds() + config.durationSeconds() + 60L, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        double measuredSeconds = (System.nanoTime() - measureStart) / 1e9;
+
+        Map<Operation, Histogram> responseHistograms = new EnumMap<>(Operation.class);
+        Map<Operation, Histogram> serviceHistograms = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            responseHistograms.put(operation, responseTimes.get(operation).getIntervalHistogram());
+            serviceHistograms.put(operation, serviceTimes.get(operation).getIntervalHistogram());
+            errorCounts.put(operation, errors.get(operation).sum());
+        }
+        return new LoadTestReport(config, startedAt, measuredSeconds, responseHistograms, serviceHistograms, errorCounts);
+    }
+
+    private void work(long[] ids, ZipfianGenerator keys, SplittableRandom random,
+                      long start, long intervalNanos, long measureStart, long end) {
+        while (true) {
+            long due = start + sequence.getAndIncrement() * intervalNanos;
+            if (due >= end) {
+                return;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = config.operationFor(random.nextInt(100));
+            long id = ids[keys.next(random)];
+
+            long sent = System.nanoTime();
+            boolean success = client.execute(operation, id, random);
+            long received = System.nanoTime();
+
+            if (due < measureStart) {
+                continue;
+            }
+            responseTimes.get(operation).recordValue(received - due);
+            serviceTimes.get(operation).recordValue(received - sent);
+            if (!success) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    /**
+     * Reuses the products already stored by the instance and creates the missing ones, then shuffles
+     * the ids so that the hottest Zipf ranks are not simply the oldest products.
+     */
+    private long[] prepareKeys() throws IOException, InterruptedException {
+        List<Long> existing = new ArrayList<>(client.fetchIds());
+        SplittableRandom random = new SplittableRandom(config.seed());
+        for (long number = existing.size(); number < config.keyCount(); number++) {
+            existing.add(client.create(number, random));
+        }
+        long[] ids = new long[config.keyCount()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = existing.get(i);
+        }
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ids[i];
+            ids[i] = ids[j];
+            ids[j] = swap;
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.productManagement.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Settings of a load test run, read from {@code --name=value} command line arguments.
+ *
+ * @param baseUrl         the URL of the running instance.
+ * @param username        the Basic auth user, as defined in {@code SecurityConfig}.
+ * @param password        the Basic auth password, as defined in {@code SecurityConfig}.
+ * @param warmupSeconds   how long to send load before measuring.
+ * @param durationSeconds how long to measure.
+ * @param rate            the target number of requests per second, sent on a fixed schedule.
+ * @param concurrency     the number of requests in flight at most.
+ * @param readPercent     the share of {@link Operation#READ} requests.
+ * @param writePercent    the share of {@link Operation#WRITE} requests.
+ * @param listPercent     the share of {@link Operation#LIST} requests.
+ * @param listPath        the path requested by {@link Operation#LIST}.
+ * @param keyCount        the number of products the requests are spread over.
+ * @param zipfExponent    the skew of the key distribution, 0 for uniform.
+ * @param seed            the seed making key and operation choices reproducible.
+ * @param reportDir       the directory the run report is written to.
+ * @param baseline        an earlier report to compare this run with, or null.
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        String username,
+        String password,
+        int warmupSeconds,
+        int durationSeconds,
+        int rate,
+        int concurrency,
+        int readPercent,
+        int writePercent,
+        int listPercent,
+        String listPath,
+        int keyCount,
+        double zipfExponent,
+        long seed,
+        String reportDir,
+        String baseline) {
+
+    public LoadTestConfig {
+        if (readPercent + writePercent + listPercent != 100) {
+            throw new IllegalArgumentException("readPercent, writePercent and listPercent must add up to 100");
+        }
+        if (rate <= 0 || concurrency <= 0 || keyCount <= 0 || durationSeconds <= 0 || warmupSeconds < 0) {
+            throw new IllegalArgumentException("rate, concurrency, keyCount and durationSeconds must be positive");
+        }
+    }
+
+    /**
+     * Builds the settings from arguments such as {@code --rate=500 --readPercent=90}, using defaults for the others.
+     *
+     * @param args the command line arguments.
+     * @return the load test settings.
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Arguments must look like --name=value: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestConfig(
+                values.getOrDefault("baseUrl", "http://localhost:8080"),
+                values.getOrDefault("username", "root"),
+                values.getOrDefault("password", "root"),
+                Integer.parseInt(values.getOrDefault("warmupSeconds", "10")),
+                Integer.parseInt(values.getOrDefault("durationSeconds", "60")),
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("concurrency", "32")),
+                Integer.parseInt(values.getOrDefault("readPercent", "80")),
+                Integer.parseInt(values.getOrDefault("writePercent", "15")),
+                Integer.parseInt(values.getOrDefault("listPercent", "5")),
+                values.getOrDefault("listPath", "/products/getAll"),
+                Integer.parseInt(values.getOrDefault("keyCount", "1000")),
+                Double.parseDouble(values.getOrDefault("zipfExponent", "0.99")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.getOrDefault("reportDir", System.getProperty("loadtest.reportDir", "reports")),
+                values.get("baseline"));
+    }
+
+    /**
+     * Picks the operation matching a number drawn uniformly in [0, 100).
+     */
+    public Operation operationFor(int percentile) {
+        if (percentile < readPercent) {
+            return Operation.READ;
+        }
+        return percentile < readPercent + writePercent ? Operation.WRITE : Operation.LIST;
+    }
+}
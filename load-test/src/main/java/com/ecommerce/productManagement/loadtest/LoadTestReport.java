@@ -0,0 +1,150 @@
+package com.ecommerce.productManagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Results of one load test run. Each run is written as a JSON summary with a fixed layout, so that runs
+ * can be compared, next to an HdrHistogram log holding the full latency distributions.
+ */
+public class LoadTestReport {
+
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final LoadTestConfig config;
+    private final Instant startedAt;
+    private final double measuredSeconds;
+    private final Map<Operation, Histogram> responseTimes;
+    private final Map<Operation, Histogram> serviceTimes;
+    private final Map<Operation, Long> errors;
+
+    public LoadTestReport(LoadTestConfig config, Instant startedAt, double measuredSeconds,
+                          Map<Operation, Histogram> responseTimes, Map<Operation, Histogram> serviceTimes,
+                          Map<Operation, Long> errors) {
+        this.config = config;
+        this.startedAt = startedAt;
+        this.measuredSeconds = measuredSeconds;
+        this.responseTimes = responseTimes;
+        this.serviceTimes = serviceTimes;
+        this.errors = errors;
+    }
+
+    /**
+     * Builds the JSON summary: settings, overall throughput and, per operation, count, errors,
+     * throughput and latency percentiles in microseconds.
+     */
+    public Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("startedAt", startedAt.toString());
+        summary.put("config", config);
+        summary.put("measuredSeconds", measuredSeconds);
+        long total = responseTimes.values().stream().mapToLong(Histogram::getTotalCount).sum();
+        summary.put("totalRequests", total);
+        summary.put("throughputPerSecond", total / measuredSeconds);
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = responseTimes.get(operation);
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", histogram.getTotalCount());
+            values.put("errors", errors.get(operation));
+            values.put("throughputPerSecond", histogram.getTotalCount() / measuredSeconds);
+            values.put("responseTimeMicros", percentiles(histogram));
+            values.put("serviceTimeMicros", percentiles(serviceTimes.get(operation)));
+            operations.put(operation.name(), values);
+        }
+        summary.put("operations", operations);
+        return summary;
+    }
+
+    /**
+     * Prints a table of throughput and response time percentiles.
+     */
+    public void print(PrintStream out) {
+        Map<String, Object> summary = summary();
+        out.printf("Throughput: %.1f requests/s over %.1f s (target %d/s)%n",
+                summary.get("throughputPerSecond"), measuredSeconds, config.rate());
+        out.printf("%-6s %10s %8s %10s %10s %10s %10s %10s%n", "op", "count", "errors", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = responseTimes.get(operation);
+            out.printf("%-6s %10d %8d %10d %10d %10d %10d %10d%n", operation, histogram.getTotalCount(), errors.get(operation),
+                    micros(histogram.getValueAtPercentile(50)), micros(histogram.getValueAtPercentile(90)),
+                    micros(histogram.getValueAtPercentile(99)), micros(histogram.getValueAtPercentile(99.9)),
+                    micros(histogram.getMaxValue()));
+        }
+    }
+
+    /**
+     * Writes the JSON summary and the histogram log into the given directory.
+     *
+     * @return the path of the JSON summary.
+     */
+    public Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String name = "run-" + FILE_NAME.format(startedAt);
+        Path summaryFile = directory.resolve(name + ".json");
+        objectMapper.writeValue(summaryFile.toFile(), summary());
+
+        try (PrintStream log = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hlog")))) {
+            HistogramLogWriter writer = new HistogramLogWriter(log);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (Operation operation : Operation.values()) {
+                Histogram histogram = responseTimes.get(operation);
+                histogram.setTag(operation.name());
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+        return summaryFile;
+    }
+
+    /**
+     * Prints, per operation, the change of throughput and p99 response time against an earlier report.
+     */
+    public void compareWith(Path baseline, PrintStream out) throws IOException {
+        JsonNode before = objectMapper.readTree(baseline.toFile()).get("operations");
+        JsonNode after = objectMapper.valueToTree(summary()).get("operations");
+        out.println("Compared with " + baseline + ":");
+        for (Operation operation : Operation.values()) {
+            JsonNode old = before.get(operation.name());
+            JsonNode current = after.get(operation.name());
+            out.printf("%-6s throughput %+.1f%%, p99 %+.1f%%%n", operation,
+                    change(old.get("throughputPerSecond").asDouble(), current.get("throughputPerSecond").asDouble()),
+                    change(old.get("responseTimeMicros").get("p99").asDouble(), current.get("responseTimeMicros").get("p99").asDouble()));
+        }
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile).replace(".", "")),
+                    micros(histogram.getValueAtPercentile(percentile)));
+        }
+        values.put("max", micros(histogram.getMaxValue()));
+        values.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean() / 1000);
+        return values;
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1000;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+}
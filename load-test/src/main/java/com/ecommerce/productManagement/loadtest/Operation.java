@@ -0,0 +1,16 @@
+package com.ecommerce.productManagement.loadtest;
+
+/**
+ * Kinds of request sent by the load generator.
+ */
+public enum Operation {
+
+    /** GET /products/{id} on a Zipfian chosen product. */
+    READ,
+
+    /** PUT /products/{id} on a Zipfian chosen product. */
+    WRITE,
+
+    /** GET on the configured list endpoint. */
+    LIST
+}
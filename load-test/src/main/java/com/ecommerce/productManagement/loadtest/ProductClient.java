@@ -0,0 +1,115 @@
+package com.ecommerce.productManagement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Minimal HTTP client for the product endpoints, authenticating every request with HTTP Basic
+ * as a real client of the service does.
+ */
+public class ProductClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String listPath;
+    private final String authorization;
+
+    public ProductClient(LoadTestConfig config) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.baseUrl = config.baseUrl();
+        this.listPath = config.listPath();
+        String credentials = config.username() + ":" + config.password();
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sends one request of the given kind.
+     *
+     * @return true if the instance answered with a 2xx status.
+     */
+    public boolean execute(Operation operation, long id, SplittableRandom random) {
+        HttpRequest request = switch (operation) {
+            case READ -> request("/products/" + id).GET().build();
+            case WRITE -> request("/products/" + id)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(productJson(id, random)))
+                    .build();
+            case LIST -> request(listPath).GET().build();
+        };
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the ids of the products already stored by the instance.
+     */
+    public List<Long> fetchIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request("/products/getAll").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        expectSuccess(response);
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode product : objectMapper.readTree(response.body())) {
+            ids.add(product.get("id").asLong());
+        }
+        return ids;
+    }
+
+    /**
+     * Creates a product and returns its id.
+     */
+    public long create(long number, SplittableRandom random) throws IOException, InterruptedException {
+        HttpRequest request = request("/products")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(productJson(number, random)))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        expectSuccess(response);
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", authorization)
+                .header("Accept", "application/json");
+    }
+
+    private static String productJson(long number, SplittableRandom random) {
+        double price = Math.round(random.nextDouble(1, 100_000) * 100) / 100.0;
+        int quantity = random.nextInt(1, 1000);
+        return """
+                {"name": "Load test product %d", "price": %s, "description": "Product created by the load generator", "quantity": %d}
+                """.formatted(number, price, quantity);
+    }
+
+    private static void expectSuccess(HttpResponse<?> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Unexpected status " + response.statusCode() + " from " + response.uri());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.productManagement.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws ranks in [0, n) following a Zipf law: rank k is chosen with a probability proportional to 1 / (k + 1)^s.
+ * Rank 0 is the hottest key. The cumulative distribution is precomputed, so each draw is a binary search.
+ */
+public class ZipfianGenerator {
+
+    private final double[] cumulative;
+
+    public ZipfianGenerator(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    /**
+     * Returns the next rank.
+     *
+     * @param random the source of randomness, owned by the calling thread.
+     * @return a rank in [0, n).
+     */
+    public int next(SplittableRandom random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = position >= 0 ? position : -position - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.productManagement.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the key skew and the workload settings of the load generator.
+ */
+public class ZipfianGeneratorTest {
+
+    /**
+     * Test case for the skew: rank 0 must be drawn about twice as often as rank 1 with an exponent of 1.
+     */
+    @Test
+    public void testSkew() {
+        ZipfianGenerator generator = new ZipfianGenerator(1000, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[1000];
+        for (int i = 0; i < 200_000; i++) {
+            counts[generator.next(random)]++;
+        }
+
+        assertEquals(2.0, counts[0] / (double) counts[1], 0.1);
+        assertTrue(counts[0] > counts[999] * 100);
+    }
+
+    /**
+     * Test case for an exponent of 0, which gives a uniform distribution.
+     */
+    @Test
+    public void testUniform() {
+        ZipfianGenerator generator = new ZipfianGenerator(10, 0);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[10];
+        for (int i = 0; i < 100_000; i++) {
+            counts[generator.next(random)]++;
+        }
+
+        for (int count : counts) {
+            assertEquals(10_000, count, 500);
+        }
+    }
+
+    /**
+     * Test case for the operation mix read from the command line.
+     */
+    @Test
+    public void testOperationMix() {
+        LoadTestConfig config = LoadTestConfig.parse(new String[]{"--readPercent=70", "--writePercent=20", "--listPercent=10"});
+
+        assertEquals(Operation.READ, config.operationFor(69));
+        assertEquals(Operation.WRITE, config.operationFor(70));
+        assertEquals(Operation.WRITE, config.operationFor(89));
+        assertEquals(Operation.LIST, config.operationFor(90));
+        assertThrows(IllegalArgumentException.class,
+                () -> LoadTestConfig.parse(new String[]{"--readPercent=90"}));
+    }
+}
@@ -0,0 +1,345 @@
+package com.ecommerce.productManagement.aggregate;
+
+import com.ecommerce.productManagement.index.ProductIndex;
+import com.ecommerce.productManagement.model.CatalogSummary;
+import com.ecommerce.productManagement.model.CatalogTotalsView;
+import com.ecommerce.productManagement.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Catalog wide figures (SKU count, stock value, price statistics) kept up to date incrementally.
+ * {@code ProductService} applies a delta on every create, update and delete, so reading the figures is O(1).
+ * Each figure is a striped adder, so concurrent deltas neither contend on a shared value nor allocate.
+ * Lowest and highest price come from the {@link ProductIndex}, which already keeps prices sorted.
+ * A periodic full recompute, run in parallel over id ranges, corrects any drift.
+ */
+@Component
+@Slf4j
+public class CatalogAggregates {
+
+    /**
+     * Number of times a chunk is summed again when products of its range keep changing meanwhile.
+     */
+    private static final int MAX_CHUNK_READS = 3;
+
+    private final ProductRepository productRepository;
+    private final ProductIndex productIndex;
+    private final long recomputeChunkSize;
+    private final ExecutorService recomputeExecutor;
+    private final LongAdder skuCount = new LongAdder();
+    private final LongAdder outOfStockCount = new LongAdder();
+    private final LongAdder totalQuantity = new LongAdder();
+    private final DoubleAdder totalStockValue = new DoubleAdder();
+    private final DoubleAdder priceSum = new DoubleAdder();
+    private final DeltaGate gate = new DeltaGate();
+    private volatile Map<Long, Totals> changedDuringRecompute;
+
+    @Autowired
+    public CatalogAggregates(ProductRepository productRepository, ProductIndex productIndex,
+                             @Value("${catalog.aggregates.recompute-chunk-size:100000}") long recomputeChunkSize,
+                             @Value("${catalog.aggregates.recompute-parallelism:4}") int recomputeParallelism) {
+        this.productRepository = productRepository;
+        this.productIndex = productIndex;
+        this.recomputeChunkSize = recomputeChunkSize;
+        this.recomputeExecutor = Executors.newFixedThreadPool(recomputeParallelism);
+    }
+
+    /**
+     * Accounts for a newly created product.
+     */
+    public void add(long id, double price, int quantity) {
+        int slot = gate.enter();
+        try {
+            markChanged(id, false, 0, 0);
+            apply(1, price, quantity);
+        } finally {
+            gate.exit(slot);
+        }
+    }
+
+    /**
+     * Accounts for a product whose price or quantity changed.
+     */
+    public void update(long id, double oldPrice, int oldQuantity, double newPrice, int newQuantity) {
+        int slot = gate.enter();
+        try {
+            markChanged(id, true, oldPrice, oldQuantity);
+            apply(-1, oldPrice, oldQuantity);
+            apply(1, newPrice, newQuantity);
+        } finally {
+            gate.exit(slot);
+        }
+    }
+
+    /**
+     * Accounts for a deleted product.
+     */
+    public void remove(long id, double price, int quantity) {
+        int slot = gate.enter();
+        try {
+            markChanged(id, true, price, quantity);
+            apply(-1, price, quantity);
+        } finally {
+            gate.exit(slot);
+        }
+    }
+
+    /**
+     * Returns the current catalog figures without scanning the catalog.
+     *
+     * @return a {@link CatalogSummary} built from the maintained figures.
+     */
+    public CatalogSummary getSummary() {
+        Totals current = snapshot();
+        double minPrice = productIndex.minPrice();
+        double maxPrice = productIndex.maxPrice();
+        return new CatalogSummary(
+                current.skuCount(),
+                current.outOfStockCount(),
+                current.totalQuantity(),
+                current.totalStockValue(),
+                Double.isNaN(minPrice) ? null : minPrice,
+                Double.isNaN(maxPrice) ? null : maxPrice,
+                current.skuCount() > 0 ? current.priceSum() / current.skuCount() : null);
+    }
+
+    /**
+     * Recomputes every figure from the database and corrects the maintained values.
+     * Chunks of ids are summed by the database in parallel, on an executor of
+     * {@code catalog.aggregates.recompute-parallelism} threads.
+     * <p>
+     * The maintained figures are noted when the recompute starts, and from then on every product changed
+     * is tracked together with what it counted for in the note. Each chunk is summed without the products
+     * already changed, and summed again if more of them changed while it was read. The correction is the
+     * difference between the database and the note, both without those products, so their deltas are
+     * counted once whenever they were applied. A chunk that keeps changing is not trusted, and the
+     * correction is then left to the next recompute.
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${catalog.aggregates.recompute-interval-ms:60000}",
+            initialDelayString = "${catalog.aggregates.recompute-interval-ms:60000}")
+    public synchronized void recompute() {
+        Map<Long, Totals> changed = new ConcurrentHashMap<>();
+        Totals before;
+        gate.close();
+        try {
+            // No delta is in flight: each one is either in the note or tracked from its state in the note
+            before = snapshot();
+            changedDuringRecompute = changed;
+        } finally {
+            gate.open();
+        }
+        try {
+            Totals recomputed = Totals.EMPTY;
+            Set<Long> excluded = new HashSet<>();
+            Long minId = productRepository.findMinId();
+            Long maxId = productRepository.findMaxId();
+            if (minId != null && maxId != null) {
+                long chunks = (maxId - minId) / recomputeChunkSize + 1;
+                List<Callable<ChunkTotals>> tasks = new ArrayList<>();
+                for (long chunk = 0; chunk < chunks; chunk++) {
+                    long fromId = minId + chunk * recomputeChunkSize;
+                    long toId = Math.min(maxId, fromId + recomputeChunkSize - 1);
+                    tasks.add(() -> sumChunk(fromId, toId, changed));
+                }
+                try {
+                    for (Future<ChunkTotals> future : recomputeExecutor.invokeAll(tasks)) {
+                        ChunkTotals chunk = future.get();
+                        if (chunk == null) {
+                            log.debug("Catalog aggregates not corrected, products kept changing during the recompute");
+                            return;
+                        }
+                        recomputed = recomputed.plus(chunk.totals());
+                        excluded.addAll(chunk.excluded());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    log.warn("Catalog aggregates recompute interrupted");
+                    return;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Catalog aggregates recompute failed", e.getCause());
+                }
+            }
+            for (Long id : excluded) {
+                before = before.minus(changed.get(id));
+            }
+            Totals correction = recomputed.minus(before);
+            skuCount.add(correction.skuCount());
+            outOfStockCount.add(correction.outOfStockCount());
+            totalQuantity.add(correction.totalQuantity());
+            totalStockValue.add(correction.totalStockValue());
+            priceSum.add(correction.priceSum());
+            log.debug("Catalog aggregates recomputed, {} products changed meanwhile", excluded.size());
+        } finally {
+            changedDuringRecompute = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recomputeExecutor.shutdownNow();
+    }
+
+    /**
+     * Sums the products of [fromId, toId] that were not changed since the recompute started.
+     *
+     * @return the totals with the ids left out, or null if the range did not stop changing.
+     */
+    private ChunkTotals sumChunk(long fromId, long toId, Map<Long, Totals> changed) {
+        for (int read = 0; read < MAX_CHUNK_READS; read++) {
+            Set<Long> excluded = idsBetween(changed, fromId, toId);
+            CatalogTotalsView view = excluded.isEmpty()
+                    ? productRepository.sumTotalsBetween(fromId, toId)
+                    : productRepository.sumTotalsBetweenExcluding(fromId, toId, excluded);
+            if (idsBetween(changed, fromId, toId).size() == excluded.size()) {
+                return new ChunkTotals(Totals.of(view), excluded);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tracks a product changed during a recompute, with what it counted for before its first change.
+     */
+    private void markChanged(long id, boolean counted, double price, int quantity) {
+        Map<Long, Totals> changed = changedDuringRecompute;
+        if (changed != null) {
+            changed.putIfAbsent(id, counted ? Totals.of(price, quantity) : Totals.EMPTY);
+        }
+    }
+
+    private void apply(int sign, double price, int quantity) {
+        skuCount.add(sign);
+        if (quantity <= 0) {
+            outOfStockCount.add(sign);
+        }
+        totalQuantity.add(sign * (long) quantity);
+        totalStockValue.add(sign * price * quantity);
+        priceSum.add(sign * price);
+    }
+
+    private Totals snapshot() {
+        return new Totals(skuCount.sum(), outOfStockCount.sum(), totalQuantity.sum(),
+                totalStockValue.sum(), priceSum.sum());
+    }
+
+    private static Set<Long> idsBetween(Map<Long, Totals> changed, long fromId, long toId) {
+        Set<Long> ids = new HashSet<>();
+        for (Long id : changed.keySet()) {
+            if (id >= fromId && id <= toId) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private record ChunkTotals(Totals totals, Set<Long> excluded) {
+    }
+
+    /**
+     * Figures of the catalog or of a part of it, as one value.
+     */
+    private record Totals(long skuCount, long outOfStockCount, long totalQuantity,
+                          double totalStockValue, double priceSum) {
+
+        static final Totals EMPTY = new Totals(0, 0, 0, 0.0, 0.0);
+
+        static Totals of(double price, int quantity) {
+            return new Totals(1, quantity <= 0 ? 1 : 0, quantity, price * quantity, price);
+        }
+
+        static Totals of(CatalogTotalsView view) {
+            return new Totals(
+                    view.getSkuCount(),
+                    view.getOutOfStockCount() != null ? view.getOutOfStockCount() : 0,
+                    view.getTotalQuantity() != null ? view.getTotalQuantity() : 0,
+                    view.getTotalStockValue() != null ? view.getTotalStockValue() : 0.0,
+                    view.getPriceSum() != null ? view.getPriceSum() : 0.0);
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(
+                    skuCount + other.skuCount,
+                    outOfStockCount + other.outOfStockCount,
+                    totalQuantity + other.totalQuantity,
+                    totalStockValue + other.totalStockValue,
+                    priceSum + other.priceSum);
+        }
+
+        Totals minus(Totals other) {
+            return new Totals(
+                    skuCount - other.skuCount,
+                    outOfStockCount - other.outOfStockCount,
+                    totalQuantity - other.totalQuantity,
+                    totalStockValue - other.totalStockValue,
+                    priceSum - other.priceSum);
+        }
+    }
+
+    /**
+     * Lets threads apply deltas while counting themselves in a stripe chosen by their thread id, so they
+     * never contend on one shared word, and lets the recompute close it until the deltas in flight are done.
+     * A thread always counts itself in the same stripe, so a stripe never reads below the number of
+     * threads inside.
+     */
+    private static final class DeltaGate {
+
+        private static final int STRIPES = 64;
+        private static final int PADDING = 16;
+
+        private final AtomicLongArray inFlight = new AtomicLongArray(STRIPES * PADDING);
+        private volatile boolean closed;
+
+        int enter() {
+            int slot = (int) ((Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L) >>> 58) * PADDING;
+            while (true) {
+                inFlight.incrementAndGet(slot);
+                if (!closed) {
+                    return slot;
+                }
+                inFlight.decrementAndGet(slot);
+                while (closed) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        void exit(int slot) {
+            inFlight.decrementAndGet(slot);
+        }
+
+        void close() {
+            closed = true;
+            for (int slot = 0; slot < inFlight.length(); slot += PADDING) {
+                while (inFlight.get(slot) != 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+
+        void open() {
+            closed = false;
+        }
+    }
+}
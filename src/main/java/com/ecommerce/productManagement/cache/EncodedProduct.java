@@ -0,0 +1,17 @@
+package com.ecommerce.productManagement.cache;
+
+/**
+ * Response body of a product, serialized once and then written as is on every read.
+ *
+ * @param json the product serialized as JSON.
+ * @param gzip the JSON compressed with gzip, or null when response compression is disabled or the body is too small.
+ */
+public record EncodedProduct(byte[] json, byte[] gzip) {
+
+    /**
+     * Returns the number of bytes held by the body and its compressed variant.
+     */
+    public int size() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
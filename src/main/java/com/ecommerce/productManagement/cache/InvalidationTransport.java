@@ -0,0 +1,25 @@
+package com.ecommerce.productManagement.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link ProductInvalidation} messages between the instances of the service.
+ * An implementation backed by a message broker can be plugged in by defining a bean of this type
+ * and setting {@code product.cache.transport} to a value other than {@code loopback}.
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Sends the message to every subscribed instance, the publishing one included.
+     *
+     * @param invalidation the message to send.
+     */
+    void publish(ProductInvalidation invalidation);
+
+    /**
+     * Registers the handler called for every message published on the transport.
+     *
+     * @param handler the handler to call.
+     */
+    void subscribe(Consumer<ProductInvalidation> handler);
+}
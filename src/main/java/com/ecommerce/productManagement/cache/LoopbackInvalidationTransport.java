@@ -0,0 +1,56 @@
+package com.ecommerce.productManagement.cache;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link InvalidationTransport} delivering messages to the application contexts of the current JVM
+ * that use the same database, as they are instances of the same deployment.
+ * Messages are delivered synchronously on the publishing thread. It is the default transport,
+ * suited to a single instance and to tests running several application contexts in one process.
+ */
+@Component
+@ConditionalOnProperty(name = "product.cache.transport", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final Map<String, List<Consumer<ProductInvalidation>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final List<Consumer<ProductInvalidation>> subscribers;
+    private final List<Consumer<ProductInvalidation>> ownSubscribers = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public LoopbackInvalidationTransport(@Value("${spring.datasource.url:}") String channel) {
+        this.subscribers = CHANNELS.computeIfAbsent(channel, key -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void publish(ProductInvalidation invalidation) {
+        for (Consumer<ProductInvalidation> subscriber : subscribers) {
+            subscriber.accept(invalidation);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ProductInvalidation> handler) {
+        ownSubscribers.add(handler);
+        subscribers.add(handler);
+    }
+
+    /**
+     * Unregisters the handlers of this context so that a closed context stops receiving messages.
+     */
+    @PreDestroy
+    public void close() {
+        subscribers.removeAll(ownSubscribers);
+        ownSubscribers.clear();
+    }
+}
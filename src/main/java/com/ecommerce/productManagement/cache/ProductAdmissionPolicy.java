@@ -0,0 +1,34 @@
+package com.ecommerce.productManagement.cache;
+
+/**
+ * Decides which products {@link ProductNearCache} keeps once it is full.
+ * A product read from the database only takes the place of a cached one if it is read at least as
+ * often, and pinned products are never evicted to make room.
+ */
+public interface ProductAdmissionPolicy {
+
+    /**
+     * Keeps whatever was cached last, as a cache without a policy would.
+     */
+    ProductAdmissionPolicy ADMIT_ALL = new ProductAdmissionPolicy() {
+        @Override
+        public double frequency(long id) {
+            return 0;
+        }
+
+        @Override
+        public boolean isPinned(long id) {
+            return false;
+        }
+    };
+
+    /**
+     * Returns how often the product is read, in any unit as long as it is the same for every product.
+     */
+    double frequency(long id);
+
+    /**
+     * Returns true if the product must stay cached when the cache makes room.
+     */
+    boolean isPinned(long id);
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.productManagement.cache;
+
+import com.ecommerce.productManagement.model.Product;
+
+/**
+ * The state of a product after a change, carried to the other instances so that they can update their
+ * in-memory indexes without reading the database. Only the fields the indexes need are carried.
+ *
+ * @param id       the id of the changed product.
+ * @param name     the name of the product, or null if the change left it as it was.
+ * @param price    the price of the product, unused for a deletion.
+ * @param quantity the quantity of the product, unused for a deletion.
+ * @param version  the version of the product after the change, unused for a deletion.
+ * @param deleted  true if the product was deleted.
+ */
+public record ProductChange(long id, String name, double price, int quantity, long version,
+                            boolean deleted) {
+
+    /**
+     * Describes a product created or updated, as saved.
+     */
+    public static ProductChange saved(Product product) {
+        return new ProductChange(product.getId(), product.getName(), product.getPrice(), product.getQuantity(),
+                product.getVersion(), false);
+    }
+
+    /**
+     * Describes a deleted product.
+     */
+    public static ProductChange deleted(long id) {
+        return new ProductChange(id, null, 0, 0, 0, true);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.productManagement.cache;
+
+import java.util.List;
+
+/**
+ * Message telling every instance to drop its cached copy of the changed products and to update its indexes.
+ *
+ * @param sourceId the id of the near-cache that published the message.
+ * @param changes  the products that were created, updated, repriced or deleted.
+ */
+public record ProductInvalidation(String sourceId, List<ProductChange> changes) {
+}
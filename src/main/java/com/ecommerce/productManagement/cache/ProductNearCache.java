@@ -0,0 +1,339 @@
+package com.ecommerce.productManagement.cache;
+
+import com.ecommerce.productManagement.model.Product;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Per-instance cache of products read by id, kept coherent across instances.
+ * Every create, update or delete invalidates the local entry and publishes a {@link ProductInvalidation}
+ * on the {@link InvalidationTransport}, so the other instances drop their copy as well. The message carries
+ * the {@link ProductChange}s, which the other instances hand to the listeners registered with
+ * {@link #onRemoteChanges(Consumer)} to update their indexes.
+ * <p>
+ * Fills are version checked: a reader takes a {@link #stamp(Long)} before reading the database and
+ * the entry is only stored if no invalidation for that id happened in between. A read racing with an
+ * update on another instance therefore cannot put the old value back into the cache.
+ * <p>
+ * An entry can also carry the product already serialized as a response body, see {@link #getEncoded}.
+ * The body lives and dies with the entry, so it is never staler than the cached product, and the
+ * bytes held by all bodies together stay within {@code product.cache.max-encoded-bytes}.
+ * <p>
+ * Once the cache is full, a product read from the database goes through the {@link ProductAdmissionPolicy}:
+ * it replaces the least read of a few entries sampled from a random point, skipping pinned ones, unless that
+ * entry is read more often than the new product, in which case the product is returned without being cached.
+ * Reads do not take the cache lock. Fills, evictions and invalidations hold one lock, so concurrent fills cannot take the
+ * cache past its size bound; they follow a database read or a write, which cost far more than the lock.
+ */
+@Component
+@Slf4j
+public class ProductNearCache {
+
+    private static final int STRIPES = 1024;
+    private static final int EVICTION_SAMPLE = 8;
+    private static final int MAX_EVICTION_SCAN = 32;
+
+    private final InvalidationTransport invalidationTransport;
+    private final ProductAdmissionPolicy admissionPolicy;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long maxEncodedBytes;
+    private final AtomicLong encodedBytes = new AtomicLong();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentHashMap<Long, CachedProduct> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidationCounts = new AtomicLongArray(STRIPES);
+    private final List<Consumer<List<ProductChange>>> remoteChangeListeners = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+    /**
+     * Ids of the cached products, densely packed so that eviction candidates can be sampled from any point.
+     * Each entry knows its slot. Guarded by {@link #lock}.
+     */
+    private final long[] cachedIds;
+    private int cachedCount;
+
+    @Autowired
+    public ProductNearCache(InvalidationTransport invalidationTransport, ProductAdmissionPolicy admissionPolicy,
+                            @Value("${product.cache.max-entries:10000}") int maxEntries,
+                            @Value("${product.cache.ttl-ms:300000}") long ttlMillis,
+                            @Value("${product.cache.max-encoded-bytes:16777216}") long maxEncodedBytes) {
+        this.invalidationTransport = invalidationTransport;
+        this.admissionPolicy = admissionPolicy;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.maxEncodedBytes = maxEncodedBytes;
+        this.cachedIds = new long[maxEntries];
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        invalidationTransport.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Returns a copy of the cached product. Missing products are never cached,
+     * so an empty result only means the database has to be read.
+     *
+     * @param id the unique identifier of the product.
+     * @return an Optional containing the cached product, or an empty Optional on a cache miss.
+     */
+    public Optional<Product> get(Long id) {
+        CachedProduct entry = liveEntry(id);
+        return entry == null ? Optional.empty() : Optional.of(copy(entry.product));
+    }
+
+    /**
+     * Returns the cached product as a response body, serializing it with the encoder on first use.
+     * The body is kept with the entry while the memory budget allows, otherwise it is only returned.
+     *
+     * @param id      the unique identifier of the product.
+     * @param encoder the function serializing the product, it must not modify it.
+     * @return an Optional containing the response body, or an empty Optional on a cache miss.
+     */
+    public Optional<EncodedProduct> getEncoded(Long id, Function<Product, EncodedProduct> encoder) {
+        CachedProduct entry = liveEntry(id);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        EncodedProduct encoded = entry.encoded;
+        if (encoded != null) {
+            return Optional.of(encoded);
+        }
+        synchronized (entry) {
+            if (entry.encoded != null) {
+                return Optional.of(entry.encoded);
+            }
+            encoded = encoder.apply(entry.product);
+            if (!entry.released) {
+                if (encodedBytes.addAndGet(encoded.size()) <= maxEncodedBytes) {
+                    entry.encoded = encoded;
+                } else {
+                    encodedBytes.addAndGet(-encoded.size());
+                }
+            }
+        }
+        return Optional.of(encoded);
+    }
+
+    /**
+     * Returns the stamp to hand to {@link #putIfUnchanged(Long, Product, long)}, taken before reading the database.
+     *
+     * @param id the unique identifier of the product about to be read.
+     * @return the current invalidation count for the id.
+     */
+    public long stamp(Long id) {
+        return invalidationCounts.get(stripe(id));
+    }
+
+    /**
+     * Caches the product read from the database, unless it was invalidated since the stamp was taken
+     * or the cache is full of products read more often.
+     *
+     * @param id      the unique identifier of the product.
+     * @param product the product read from the database.
+     * @param stamp   the value returned by {@link #stamp(Long)} before the read.
+     */
+    public void putIfUnchanged(Long id, Product product, long stamp) {
+        CachedProduct candidate = new CachedProduct(copy(product), System.nanoTime());
+        synchronized (lock) {
+            // Invalidations count up before taking the lock, so one racing with this fill is always seen here
+            if (invalidationCounts.get(stripe(id)) != stamp) {
+                return;
+            }
+            CachedProduct current = entries.get(id);
+            if (current != null) {
+                candidate.slot = current.slot;
+                release(current);
+            } else {
+                if (cachedCount == maxEntries && !makeRoomFor(id)) {
+                    return;
+                }
+                candidate.slot = cachedCount;
+                cachedIds[cachedCount++] = id;
+            }
+            entries.put(id, candidate);
+        }
+    }
+
+    /**
+     * Drops the product from this instance and from every other instance listening on the transport.
+     *
+     * @param change the created, updated or deleted product.
+     */
+    public void invalidate(ProductChange change) {
+        invalidate(List.of(change));
+    }
+
+    /**
+     * Drops the products from this instance and from every other instance, in a single message.
+     *
+     * @param changes the created, updated or deleted products.
+     */
+    public void invalidate(List<ProductChange> changes) {
+        for (ProductChange change : changes) {
+            invalidateLocally(change.id());
+        }
+        invalidationTransport.publish(new ProductInvalidation(instanceId, changes));
+    }
+
+    /**
+     * Registers a listener called with the changes made by the other instances, after their products were dropped.
+     *
+     * @param listener the listener to call.
+     */
+    public void onRemoteChanges(Consumer<List<ProductChange>> listener) {
+        remoteChangeListeners.add(listener);
+    }
+
+    /**
+     * Returns the number of cached products.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of bytes held by the cached response bodies.
+     */
+    public long encodedBytes() {
+        return encodedBytes.get();
+    }
+
+    private void onInvalidation(ProductInvalidation invalidation) {
+        if (instanceId.equals(invalidation.sourceId())) {
+            return;
+        }
+        log.debug("Remote invalidation of {} products from {}", invalidation.changes().size(), invalidation.sourceId());
+        for (ProductChange change : invalidation.changes()) {
+            invalidateLocally(change.id());
+        }
+        for (Consumer<List<ProductChange>> listener : remoteChangeListeners) {
+            listener.accept(invalidation.changes());
+        }
+    }
+
+    private void invalidateLocally(Long id) {
+        invalidationCounts.incrementAndGet(stripe(id));
+        synchronized (lock) {
+            remove(id);
+        }
+    }
+
+    /**
+     * Drops the entry of the product and frees its slot, moving the last slot into it. Called with the lock held.
+     */
+    private void remove(Long id) {
+        CachedProduct entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        long lastId = cachedIds[--cachedCount];
+        if (lastId != id) {
+            cachedIds[entry.slot] = lastId;
+            entries.get(lastId).slot = entry.slot;
+        }
+        release(entry);
+    }
+
+    /**
+     * Evicts the least read unpinned entry among a sample of consecutive slots starting at a random one,
+     * if the admission policy prefers the new product. Called with the lock held.
+     *
+     * @return true if the product may be cached.
+     */
+    private boolean makeRoomFor(Long id) {
+        if (cachedCount == 0) {
+            return false;
+        }
+        long victim = 0;
+        double victimFrequency = Double.MAX_VALUE;
+        int sampled = 0;
+        int start = ThreadLocalRandom.current().nextInt(cachedCount);
+        int scan = Math.min(MAX_EVICTION_SCAN, cachedCount);
+        for (int i = 0; i < scan && sampled < EVICTION_SAMPLE; i++) {
+            long candidate = cachedIds[(start + i) % cachedCount];
+            if (admissionPolicy.isPinned(candidate)) {
+                continue;
+            }
+            sampled++;
+            double frequency = admissionPolicy.frequency(candidate);
+            if (frequency < victimFrequency) {
+                victim = candidate;
+                victimFrequency = frequency;
+            }
+        }
+        if (sampled == 0 || admissionPolicy.frequency(id) < victimFrequency) {
+            return false;
+        }
+        remove(victim);
+        return true;
+    }
+
+    /**
+     * Returns the entry of the product unless it is missing or expired.
+     */
+    private CachedProduct liveEntry(Long id) {
+        CachedProduct entry = entries.get(id);
+        if (entry != null && System.nanoTime() - entry.loadedAt > ttlNanos) {
+            synchronized (lock) {
+                if (entries.get(id) == entry) {
+                    remove(id);
+                }
+            }
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Gives back the memory budget of the response body of an entry that left the cache.
+     */
+    private void release(CachedProduct entry) {
+        if (entry == null) {
+            return;
+        }
+        synchronized (entry) {
+            if (!entry.released && entry.encoded != null) {
+                encodedBytes.addAndGet(-entry.encoded.size());
+            }
+            entry.released = true;
+            entry.encoded = null;
+        }
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (STRIPES - 1);
+    }
+
+    private static Product copy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getPrice(),
+                product.getDescription(), product.getQuantity(), product.getVersion());
+    }
+
+    private static final class CachedProduct {
+
+        private final Product product;
+        private final long loadedAt;
+        private volatile EncodedProduct encoded;
+        private boolean released;
+        private int slot;
+
+        private CachedProduct(Product product, long loadedAt) {
+            this.product = product;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
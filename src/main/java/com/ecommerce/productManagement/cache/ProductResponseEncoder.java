@@ -0,0 +1,64 @@
+package com.ecommerce.productManagement.cache;
+
+import com.ecommerce.productManagement.model.Product;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes products into {@link EncodedProduct} response bodies with the application {@link ObjectMapper},
+ * so that the bytes match what the MVC message converters would have written.
+ * The gzip variant follows the {@code server.compression} settings: it is only produced when compression
+ * is enabled and the JSON reaches the minimum response size.
+ */
+@Component
+public class ProductResponseEncoder {
+
+    private final ObjectWriter writer;
+    private final boolean compressionEnabled;
+    private final long minCompressedSize;
+
+    @Autowired
+    public ProductResponseEncoder(ObjectMapper objectMapper,
+                                  @Value("${server.compression.enabled:false}") boolean compressionEnabled,
+                                  @Value("${server.compression.min-response-size:2KB}") DataSize minResponseSize) {
+        this.writer = objectMapper.writerFor(Product.class);
+        this.compressionEnabled = compressionEnabled;
+        this.minCompressedSize = minResponseSize.toBytes();
+    }
+
+    /**
+     * Serializes the product, and compresses it when compression applies.
+     *
+     * @param product the product to serialize.
+     * @return the encoded response body.
+     */
+    public EncodedProduct encode(Product product) {
+        try {
+            byte[] json = writer.writeValueAsBytes(product);
+            byte[] gzip = compressionEnabled && json.length >= minCompressedSize ? gzip(json) : null;
+            return new EncodedProduct(json, gzip);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize product " + product.getId(), e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 2 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -1,5 +1,6 @@
 package com.ecommerce.productManagement.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,16 +16,29 @@ import org.springframework.security.web.SecurityFilterChain;
 public class SecurityConfig {
 
     /**
-     * Configure authentication with an in-memory user.
+     * Configure authentication with in-memory users: one for the catalog API, and a separate
+     * administrator, the only one allowed on the admin endpoints. The administrator has no default
+     * password: startup fails until {@code security.admin.password} is set.
      *
-     * @return UserDetailsService with a single user.
+     * @param adminUsername the name of the administrator.
+     * @param adminPassword the password of the administrator.
+     * @return UserDetailsService with both users.
      */
     @Bean
-    public UserDetailsService userDetailsService() {
+    public UserDetailsService userDetailsService(@Value("${security.admin.username:admin}") String adminUsername,
+                                                 @Value("${security.admin.password:}") String adminPassword) {
+        if (adminPassword.isBlank()) {
+            throw new IllegalStateException("security.admin.password must be set to start the application");
+        }
         UserDetails user = User.withUsername("root")
                 .password(passwordEncoder().encode("root")) // Encode password with BCrypt
+                .roles("USER")
                 .build();
-        return new InMemoryUserDetailsManager(user);
+        UserDetails admin = User.withUsername(adminUsername)
+                .password(passwordEncoder().encode(adminPassword))
+                .roles("USER", "ADMIN")
+                .build();
+        return new InMemoryUserDetailsManager(user, admin);
     }
 
     /**
@@ -42,6 +56,7 @@ public class SecurityConfig {
                 )
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**","/h2-console/**").permitAll()
+                        .requestMatchers("/admin/**").hasRole("ADMIN") // Flight recording endpoints
                         .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
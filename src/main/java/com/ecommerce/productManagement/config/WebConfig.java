@@ -0,0 +1,28 @@
+package com.ecommerce.productManagement.config;
+
+import com.ecommerce.productManagement.diagnostics.ControllerRequestInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ControllerRequestInterceptor controllerRequestInterceptor;
+
+    @Autowired
+    public WebConfig(ControllerRequestInterceptor controllerRequestInterceptor) {
+        this.controllerRequestInterceptor = controllerRequestInterceptor;
+    }
+
+    /**
+     * Register the interceptor recording a flight recorder event for every controller request.
+     *
+     * @param registry the registry of Spring MVC interceptors.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(controllerRequestInterceptor);
+    }
+}
@@ -7,6 +7,29 @@ public final class ProductManagementConstants {
     // REST API constants
     public static final String PRODUCT = "/products";
     public static final String GET_ALL = "/getAll";
+    public static final String BY_PRICE = "/byPrice";
+    public static final String LOW_STOCK = "/lowStock";
+    public static final String AGGREGATES = "/aggregates";
+    public static final String REPRICING = "/repricing";
+    public static final String RESUME = "/resume";
+    public static final String PRICE_HISTORY = "/{id}/priceHistory";
+    public static final String DOWNSAMPLED = "/downsampled";
+    public static final String SUGGEST = "/suggest";
+    public static final String DEFAULT_SUGGESTION_LIMIT = "10";
+    public static final String HOT = "/hot";
+    public static final String DEFAULT_HOT_LIMIT = "10";
+    public static final String ADMIN = "/admin";
+    public static final String RECORDING = "/recording";
+    public static final String START = "/start";
+    public static final String STOP = "/stop";
+    public static final String DUMP = "/dump";
+    public static final String DEFAULT_RECORDING_PROFILE = "default";
+    public static final String DEFAULT_RECORDING_MAX_AGE_MINUTES = "30";
+    public static final String DEFAULT_RESULT_LIMIT = "50";
+    public static final int MAX_RESULT_LIMIT = 1000;
+    public static final int MAX_REPRICING_RULES = 50;
+    public static final int MAX_RULES_LENGTH = 10_000;
+    public static final int MAX_UPDATE_ATTEMPTS = 3;
 
 
 
@@ -15,15 +38,77 @@ public final class ProductManagementConstants {
     public static final String PRODUCT_REPRESENT = "Represents a product in the system";
     public static final String PRODUCT_UNIQUE_IDENTIFIER = "The unique identifier of the product";
     public static final String PRODUCT_ALREADY_EXIST = "Product already exist.";
+    public static final String CONCURRENT_UPDATE = "Product was changed concurrently, please retry";
     public static final String PRODUCT_NAME_REQUIRED = "Product name is mandatory";
     public static final String PRICE_MUST_BE_POSITIVE = "Price must be a positive value";
     public static final String QUANTITY_MUST_BE_POSITIVE = "Quantity must be a positive value";
+    public static final String REPRICING_JOB_NOT_FOUND = "Repricing job not found";
+    public static final String INVALID_REPRICING_RULE = "Invalid repricing rule";
+    public static final String RULES_REQUIRED = "At least one repricing rule is mandatory";
+    public static final String TOO_MANY_RULES = "At most " + MAX_REPRICING_RULES + " repricing rules are allowed";
+    public static final String ADJUSTMENT_REQUIRED = "Price adjustment is mandatory";
+    public static final String RECORDING_ALREADY_RUNNING = "A recording is already running";
+    public static final String NO_RECORDING_RUNNING = "No recording is running";
+    public static final String NO_RECORDING = "No recording was started";
+    public static final String UNKNOWN_RECORDING_PROFILE = "Unknown recording profile";
+    public static final String MAX_AGE_MUST_BE_POSITIVE = "Maximum age must be a positive value";
+    public static final String PREFIX_REQUIRED = "Prefix is mandatory";
+    public static final String BUCKET_MUST_BE_POSITIVE = "Bucket size must be a positive value";
+    public static final String LIMIT_OUT_OF_RANGE = "Limit must be between 1 and " + MAX_RESULT_LIMIT;
     
     // Swagger description constants
     public static final String PRODUCT_NAME_DESCRIPTION = "The name of the product";
     public static final String PRODUCT_PRICE_DESCRIPTION = "The price of the product";
     public static final String PRODUCT_QUANTITY_DESCRIPTION = "The available stock quantity of the product";
     public static final String PRODUCT_DESCRIPTION_DESCRIPTION = "A brief description of the product";
+    public static final String CATALOG_SUMMARY_REPRESENT = "Aggregated figures over the whole product catalog";
+    public static final String SKU_COUNT_DESCRIPTION = "The number of products in the catalog";
+    public static final String OUT_OF_STOCK_COUNT_DESCRIPTION = "The number of products with no stock left";
+    public static final String TOTAL_QUANTITY_DESCRIPTION = "The total stock quantity over all products";
+    public static final String TOTAL_STOCK_VALUE_DESCRIPTION = "The sum of price multiplied by quantity over all products";
+    public static final String MIN_PRICE_DESCRIPTION = "The lowest product price, absent when the catalog is empty";
+    public static final String MAX_PRICE_DESCRIPTION = "The highest product price, absent when the catalog is empty";
+    public static final String AVERAGE_PRICE_DESCRIPTION = "The average product price, absent when the catalog is empty";
+    public static final String REPRICING_RULE_REPRESENT = "A price band and the adjustment applied to the products in it";
+    public static final String RULE_MIN_PRICE_DESCRIPTION = "The lowest current price the rule applies to, inclusive, unbounded if absent";
+    public static final String RULE_MAX_PRICE_DESCRIPTION = "The highest current price the rule applies to, exclusive, unbounded if absent";
+    public static final String RULE_ADJUSTMENT_DESCRIPTION = "How the price is changed: PERCENT, AMOUNT or SET";
+    public static final String RULE_VALUE_DESCRIPTION = "The percentage, amount or new price of the adjustment";
+    public static final String REPRICING_REQUEST_REPRESENT = "A set of repricing rules to apply to the catalog";
+    public static final String RULES_DESCRIPTION = "The repricing rules, the first rule matching a product is applied";
+    public static final String DRY_RUN_DESCRIPTION = "Only count the matching products without changing any price";
+    public static final String REPRICING_JOB_REPRESENT = "Progress of a bulk repricing";
+    public static final String REPRICING_JOB_ID_DESCRIPTION = "The unique identifier of the repricing job";
+    public static final String REPRICING_STATUS_DESCRIPTION = "The status of the repricing job";
+    public static final String REPRICING_ID_RANGE_DESCRIPTION = "The product id range covered by the repricing job";
+    public static final String CHUNK_SIZE_DESCRIPTION = "The number of product ids covered by one chunk";
+    public static final String TOTAL_CHUNKS_DESCRIPTION = "The number of chunks of the repricing job";
+    public static final String COMPLETED_CHUNKS_DESCRIPTION = "The number of chunks already applied";
+    public static final String MATCHED_ROWS_DESCRIPTION = "The number of products matched by the rules when the job started";
+    public static final String UPDATED_ROWS_DESCRIPTION = "The number of products repriced so far";
+    public static final String SKIPPED_ROWS_DESCRIPTION = "The number of products within the price band of a rule left unchanged, as their price would fall below 0.01";
+    public static final String FAILURE_MESSAGE_DESCRIPTION = "The error that stopped the repricing job, if any";
+    public static final String PRICE_POINT_REPRESENT = "The price and quantity of a product after a change";
+    public static final String CHANGE_TIME_DESCRIPTION = "The time of the change";
+    public static final String PRICE_BUCKET_REPRESENT = "The price changes of a product within a time bucket";
+    public static final String BUCKET_START_DESCRIPTION = "The start of the time bucket";
+    public static final String OPEN_PRICE_DESCRIPTION = "The price after the first change of the bucket";
+    public static final String HIGH_PRICE_DESCRIPTION = "The highest price within the bucket";
+    public static final String LOW_PRICE_DESCRIPTION = "The lowest price within the bucket";
+    public static final String CLOSE_PRICE_DESCRIPTION = "The price after the last change of the bucket";
+    public static final String CLOSE_QUANTITY_DESCRIPTION = "The quantity after the last change of the bucket";
+    public static final String CHANGE_COUNT_DESCRIPTION = "The number of changes within the bucket";
+    public static final String PRODUCT_SUGGESTION_REPRESENT = "Represents an autocomplete suggestion for a product name";
+    public static final String RECORDING_REPRESENT = "Represents the flight recording started from the admin endpoint";
+    public static final String RECORDING_ID_DESCRIPTION = "The identifier given to the recording by the flight recorder";
+    public static final String RECORDING_PROFILE_DESCRIPTION = "The flight recorder configuration the recording was started with";
+    public static final String RECORDING_STATE_DESCRIPTION = "The state of the recording";
+    public static final String RECORDING_START_DESCRIPTION = "The time the recording started";
+    public static final String RECORDING_STOP_DESCRIPTION = "The time the recording stopped, null while it is running";
+    public static final String RECORDING_SIZE_DESCRIPTION = "The number of bytes recorded so far";
+    public static final String POPULARITY_DESCRIPTION = "The number of times the product was viewed since the service started";
+    public static final String HOT_PRODUCT_REPRESENT = "Represents a product among the most accessed ones";
+    public static final String ACCESS_RATE_DESCRIPTION = "The estimated number of accesses per second, weighted towards recent accesses";
 
     // Other constants for configuration can be added here
     public static final String API_VERSION = "v1";
@@ -0,0 +1,90 @@
+package com.ecommerce.productManagement.controller;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import com.ecommerce.productManagement.model.PriceBucket;
+import com.ecommerce.productManagement.model.PricePoint;
+import com.ecommerce.productManagement.service.PriceHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * This class handles HTTP requests related to the price history of products.
+ * It provides endpoints to read the recorded changes of a product, raw or downsampled.
+ */
+@Tag(
+        name = "REST APIs for Product Price History",
+        description = "APIs to read the price and quantity changes of a product over time"
+)
+@RestController
+@RequestMapping(value = ProductManagementConstants.PRODUCT, produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
+@Slf4j
+public class PriceHistoryController {
+
+    private final PriceHistoryService priceHistoryService;
+
+    @Autowired
+    public PriceHistoryController(PriceHistoryService priceHistoryService) {
+        this.priceHistoryService = priceHistoryService;
+    }
+
+    /**
+     * Handles the GET request to retrieve the changes of a product within a period.
+     *
+     * @param id   the ID of the product
+     * @param from the start of the period, the beginning of the history when omitted
+     * @param to   the end of the period, now when omitted
+     * @return a list of {@link PricePoint} objects in time order
+     */
+    @Operation(summary = "Get price history", description = "Retrieve every price and quantity change of a product within a period.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the price history"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    @GetMapping(value = ProductManagementConstants.PRICE_HISTORY)
+    public List<PricePoint> getPriceHistory(@PathVariable Long id,
+                                            @RequestParam(required = false) Instant from,
+                                            @RequestParam(required = false) Instant to) {
+        log.debug("Enter in getPriceHistory() with id: {}, from: {}, to: {}", id, from, to);
+        return priceHistoryService.getPriceHistory(id, from != null ? from : Instant.EPOCH, to != null ? to : Instant.now());
+    }
+
+    /**
+     * Handles the GET request to retrieve the changes of a product within a period, grouped into fixed buckets.
+     *
+     * @param id            the ID of the product
+     * @param from          the start of the period, the beginning of the history when omitted
+     * @param to            the end of the period, now when omitted
+     * @param bucketSeconds the duration of a bucket in seconds
+     * @return a list of {@link PriceBucket} objects in time order, without empty buckets
+     */
+    @Operation(summary = "Get downsampled price history", description = "Retrieve the open, high, low and close price of a product per time bucket.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the downsampled price history"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    @GetMapping(value = ProductManagementConstants.PRICE_HISTORY + ProductManagementConstants.DOWNSAMPLED)
+    public List<PriceBucket> getDownsampledPriceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "3600")
+            @Positive(message = ProductManagementConstants.BUCKET_MUST_BE_POSITIVE) long bucketSeconds) {
+        log.debug("Enter in getDownsampledPriceHistory() with id: {}, from: {}, to: {}, bucketSeconds: {}",
+                id, from, to, bucketSeconds);
+        return priceHistoryService.getDownsampledPriceHistory(id, from != null ? from : Instant.EPOCH,
+                to != null ? to : Instant.now(), Duration.ofSeconds(bucketSeconds));
+    }
+}
@@ -1,22 +1,37 @@
 package com.ecommerce.productManagement.controller;
 
+import com.ecommerce.productManagement.cache.EncodedProduct;
 import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import com.ecommerce.productManagement.model.AccessType;
+import com.ecommerce.productManagement.model.CatalogSummary;
+import com.ecommerce.productManagement.model.HotProduct;
 import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.ProductSuggestion;
+import com.ecommerce.productManagement.model.SuggestionOrder;
 import com.ecommerce.productManagement.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 /**
@@ -56,23 +71,156 @@ public class ProductController {
         return productService.getAllProducts();
     }
 
+    /**
+     * Handles the GET request to retrieve products within a price range, served from the in-memory price index.
+     *
+     * @param minPrice   the lowest price to include
+     * @param maxPrice   the highest price to include, unbounded if not given
+     * @param limit      the maximum number of products to return
+     * @param descending true to return the most expensive products first
+     * @return a list of {@link Product} objects ordered by price
+     */
+    @Operation(summary = "Get products by price range", description = "Retrieve the cheapest or most expensive products within a price range.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of products"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    @GetMapping(value = ProductManagementConstants.BY_PRICE)
+    public List<Product> getProductsByPriceRange(
+            @RequestParam(defaultValue = "0") double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(defaultValue = ProductManagementConstants.DEFAULT_RESULT_LIMIT)
+            @Min(value = 1, message = ProductManagementConstants.LIMIT_OUT_OF_RANGE)
+            @Max(value = ProductManagementConstants.MAX_RESULT_LIMIT, message = ProductManagementConstants.LIMIT_OUT_OF_RANGE) int limit,
+            @RequestParam(defaultValue = "false") boolean descending) {
+        log.debug("Enter in getProductsByPriceRange() with minPrice: {}, maxPrice: {}, limit: {}, descending: {}",
+                minPrice, maxPrice, limit, descending);
+        double upperPrice = maxPrice != null ? maxPrice : Double.MAX_VALUE;
+        return productService.getProductsByPriceRange(minPrice, upperPrice, limit, descending);
+    }
+
+    /**
+     * Handles the GET request to retrieve products whose stock is below a threshold, served from the in-memory stock index.
+     *
+     * @param threshold the quantity products must be below
+     * @param limit     the maximum number of products to return
+     * @return a list of {@link Product} objects, lowest stock first
+     */
+    @Operation(summary = "Get low stock products", description = "Retrieve products whose quantity is below a threshold.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of products"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    @GetMapping(value = ProductManagementConstants.LOW_STOCK)
+    public List<Product> getProductsWithQuantityBelow(
+            @RequestParam int threshold,
+            @RequestParam(defaultValue = ProductManagementConstants.DEFAULT_RESULT_LIMIT)
+            @Min(value = 1, message = ProductManagementConstants.LIMIT_OUT_OF_RANGE)
+            @Max(value = ProductManagementConstants.MAX_RESULT_LIMIT, message = ProductManagementConstants.LIMIT_OUT_OF_RANGE) int limit) {
+        log.debug("Enter in getProductsWithQuantityBelow() with threshold: {}, limit: {}", threshold, limit);
+        return productService.getProductsWithQuantityBelow(threshold, limit);
+    }
+
+    /**
+     * Handles the GET request to retrieve catalog wide figures such as stock value and price statistics.
+     *
+     * @return the current {@link CatalogSummary}
+     */
+    @Operation(summary = "Get catalog aggregates", description = "Retrieve SKU count, out of stock count, stock value and price statistics.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the catalog aggregates"),
+            @ApiResponse(responseCode = "500", description = "Internal Server Error")
+    })
+    @GetMapping(value = ProductManagementConstants.AGGREGATES)
+    public CatalogSummary getCatalogSummary() {
+        log.debug("Enter in getCatalogSummary()");
+        return productService.getCatalogSummary();
+    }
+
+    /**
+     * Handles the GET request to suggest product names completing what the user typed, served from the in-memory name index.
+     *
+     * @param prefix the beginning of the name typed so far, matched ignoring case
+     * @param limit  the maximum number of suggestions to return
+     * @param order  whether to rank the suggestions by popularity or alphabetically
+     * @return a list of {@link ProductSuggestion} objects, best ranked first
+     */
+    @Operation(summary = "Suggest product names", description = "Retrieve the products whose name starts with a prefix, for autocomplete.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the suggestions"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    @GetMapping(value = ProductManagementConstants.SUGGEST)
+    public List<ProductSuggestion> getSuggestions(
+            @RequestParam @NotBlank(message = ProductManagementConstants.PREFIX_REQUIRED) String prefix,
+            @RequestParam(defaultValue = ProductManagementConstants.DEFAULT_SUGGESTION_LIMIT)
+            @Min(value = 1, message = ProductManagementConstants.LIMIT_OUT_OF_RANGE)
+            @Max(value = ProductManagementConstants.MAX_RESULT_LIMIT, message = ProductManagementConstants.LIMIT_OUT_OF_RANGE) int limit,
+            @RequestParam(defaultValue = "POPULARITY") SuggestionOrder order) {
+        log.debug("Enter in getSuggestions() with prefix: {}, limit: {}, order: {}", prefix, limit, order);
+        return productService.getSuggestions(prefix, limit, order);
+    }
+
+    /**
+     * Handles the GET request to retrieve the most read or most written products, tracked in memory.
+     *
+     * @param type  whether to rank the products by reads or by writes
+     * @param limit the maximum number of products to return
+     * @return a list of {@link HotProduct} objects, highest access rate first
+     */
+    @Operation(summary = "Get hot products", description = "Retrieve the most accessed products with their estimated access rate.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the hot products"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    @GetMapping(value = ProductManagementConstants.HOT)
+    public List<HotProduct> getHotProducts(
+            @RequestParam(defaultValue = "READ") AccessType type,
+            @RequestParam(defaultValue = ProductManagementConstants.DEFAULT_HOT_LIMIT)
+            @Min(value = 1, message = ProductManagementConstants.LIMIT_OUT_OF_RANGE)
+            @Max(value = ProductManagementConstants.MAX_RESULT_LIMIT, message = ProductManagementConstants.LIMIT_OUT_OF_RANGE) int limit) {
+        log.debug("Enter in getHotProducts() with type: {}, limit: {}", type, limit);
+        return productService.getHotProducts(type, limit);
+    }
+
     /**
      * Handles the GET request to retrieve a product by its ID.
+     * The product comes already serialized, and is written straight to the response without going
+     * through the message converters. The gzip variant is sent when it exists and the client accepts it.
      *
-     * @param id the ID of the product to retrieve
-     * @return a {@link ResponseEntity} containing the found {@link Product} or a 404 Not Found response
+     * @param id             the ID of the product to retrieve
+     * @param acceptEncoding the encodings accepted by the client
+     * @param response       the response to write the found {@link Product} to, or to mark as 404 Not Found
+     * @throws IOException if the response cannot be written
      */
     @Operation(summary = "Get a product by ID", description = "Retrieve product details by its ID.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Successfully retrieved the product"),
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the product",
+                    content = @Content(schema = @Schema(implementation = Product.class))),
             @ApiResponse(responseCode = "404", description = "Product not found"),
             @ApiResponse(responseCode = "500", description = "Internal Server Error")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
+    public void getProductById(@PathVariable Long id,
+                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                               HttpServletResponse response) throws IOException {
         log.debug("Enter in getProductById() with id: {}", id);
-        Optional<Product> product = productService.getProductById(id);
-        return product.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        Optional<EncodedProduct> product = productService.getEncodedProductById(id);
+        if (product.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        byte[] body = product.get().json();
+        if (product.get().gzip() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(acceptEncoding)) {
+                body = product.get().gzip();
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 
     /**
@@ -131,4 +279,38 @@ public class ProductController {
         boolean deleted = productService.deleteProduct(id);
         return deleted ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
     }
+
+    /**
+     * Tells whether an Accept-Encoding header allows gzip, honoring quality values: gzip is refused with
+     * {@code q=0}, and an explicit gzip entry takes precedence over the {@code *} wildcard.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 2 && (parameter.startsWith("q=") || parameter.startsWith("Q="))) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = gzipQuality == null ? quality : Math.max(gzipQuality, quality);
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
 }
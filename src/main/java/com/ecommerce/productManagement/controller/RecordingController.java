@@ -0,0 +1,127 @@
+package com.ecommerce.productManagement.controller;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import com.ecommerce.productManagement.model.RecordingInfo;
+import com.ecommerce.productManagement.service.RecordingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.constraints.Positive;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * This class handles HTTP requests of administrators driving a Java Flight Recorder recording.
+ * It provides endpoints to start, stop and download a recording, which holds the controller, service
+ * and repository events of the application besides the JVM events chosen by the profile.
+ */
+@Tag(
+        name = "REST APIs for Flight Recording",
+        description = "Admin APIs to start, stop and dump a Java Flight Recorder recording"
+)
+@RestController
+@RequestMapping(value = ProductManagementConstants.ADMIN + ProductManagementConstants.RECORDING,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
+@Slf4j
+public class RecordingController {
+
+    private final RecordingService recordingService;
+
+    @Autowired
+    public RecordingController(RecordingService recordingService) {
+        this.recordingService = recordingService;
+    }
+
+    /**
+     * Handles the POST request to start a recording.
+     *
+     * @param profile       the flight recorder configuration to record with, such as default or profile
+     * @param maxAgeMinutes how long recorded events are kept, in minutes
+     * @return the started {@link RecordingInfo}
+     */
+    @Operation(summary = "Start a recording", description = "Start a flight recording with the chosen profile.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully started the recording"),
+            @ApiResponse(responseCode = "400", description = "Unknown profile"),
+            @ApiResponse(responseCode = "409", description = "A recording is already running")
+    })
+    @PostMapping(value = ProductManagementConstants.START)
+    public RecordingInfo startRecording(
+            @RequestParam(defaultValue = ProductManagementConstants.DEFAULT_RECORDING_PROFILE) String profile,
+            @RequestParam(defaultValue = ProductManagementConstants.DEFAULT_RECORDING_MAX_AGE_MINUTES)
+            @Positive(message = ProductManagementConstants.MAX_AGE_MUST_BE_POSITIVE) long maxAgeMinutes) {
+        log.debug("Enter in startRecording() with profile: {}, maxAgeMinutes: {}", profile, maxAgeMinutes);
+        return recordingService.startRecording(profile, Duration.ofMinutes(maxAgeMinutes));
+    }
+
+    /**
+     * Handles the POST request to stop the running recording.
+     *
+     * @return the stopped {@link RecordingInfo}
+     */
+    @Operation(summary = "Stop the recording", description = "Stop the running flight recording, keeping its events for a dump.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully stopped the recording"),
+            @ApiResponse(responseCode = "409", description = "No recording is running")
+    })
+    @PostMapping(value = ProductManagementConstants.STOP)
+    public RecordingInfo stopRecording() {
+        log.debug("Enter in stopRecording()");
+        return recordingService.stopRecording();
+    }
+
+    /**
+     * Handles the GET request to retrieve the state of the last started recording.
+     *
+     * @return the {@link RecordingInfo}
+     */
+    @Operation(summary = "Get the recording", description = "Retrieve the state of the last started flight recording.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the recording"),
+            @ApiResponse(responseCode = "409", description = "No recording was started")
+    })
+    @GetMapping
+    public RecordingInfo getRecording() {
+        log.debug("Enter in getRecording()");
+        return recordingService.getRecording();
+    }
+
+    /**
+     * Handles the GET request to download the events of the last started recording as a .jfr file.
+     *
+     * @param response the response to write the file to
+     * @throws IOException if the file cannot be written to the response
+     */
+    @Operation(summary = "Dump the recording", description = "Download the events of the last started flight recording as a .jfr file.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully dumped the recording"),
+            @ApiResponse(responseCode = "409", description = "No recording was started")
+    })
+    @GetMapping(value = ProductManagementConstants.DUMP, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void dumpRecording(HttpServletResponse response) throws IOException {
+        log.debug("Enter in dumpRecording()");
+        Path file = recordingService.dumpRecording();
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setContentLengthLong(Files.size(file));
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                    ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString());
+            Files.copy(file, response.getOutputStream());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
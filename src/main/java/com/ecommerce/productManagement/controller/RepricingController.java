@@ -0,0 +1,97 @@
+package com.ecommerce.productManagement.controller;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import com.ecommerce.productManagement.model.RepricingJob;
+import com.ecommerce.productManagement.model.RepricingRequest;
+import com.ecommerce.productManagement.model.RepricingStatus;
+import com.ecommerce.productManagement.service.RepricingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * This class handles HTTP requests related to bulk repricing of products.
+ * It provides endpoints to start, follow and resume repricing jobs.
+ */
+@Tag(
+        name = "REST APIs for Product Repricing",
+        description = "APIs to reprice many products at once with set-based updates"
+)
+@RestController
+@RequestMapping(value = ProductManagementConstants.PRODUCT + ProductManagementConstants.REPRICING,
+        produces = MediaType.APPLICATION_JSON_VALUE)
+@Validated
+@Slf4j
+public class RepricingController {
+
+    private final RepricingService repricingService;
+
+    @Autowired
+    public RepricingController(RepricingService repricingService) {
+        this.repricingService = repricingService;
+    }
+
+    /**
+     * Handles the POST request to start a repricing job, or to count the matching products for a dry run.
+     *
+     * @param request the {@link RepricingRequest} holding the rules to apply
+     * @return a {@link ResponseEntity} with the started job and HTTP status 202 Accepted,
+     * or with the dry run result and HTTP status 200 OK
+     */
+    @Operation(summary = "Start a repricing", description = "Reprice every product matched by the rules, in parallel chunks.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully counted the products of a dry run"),
+            @ApiResponse(responseCode = "202", description = "Successfully started the repricing job"),
+            @ApiResponse(responseCode = "400", description = "Bad Request")
+    })
+    @PostMapping
+    public ResponseEntity<RepricingJob> startRepricing(@Valid @RequestBody RepricingRequest request) {
+        log.debug("Enter in startRepricing() with details: {}", request);
+        RepricingJob job = repricingService.startRepricing(request);
+        HttpStatus status = job.getStatus() == RepricingStatus.DRY_RUN ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(job);
+    }
+
+    /**
+     * Handles the GET request to retrieve the progress of a repricing job.
+     *
+     * @param id the ID of the repricing job
+     * @return the {@link RepricingJob}
+     */
+    @Operation(summary = "Get a repricing job", description = "Retrieve the status and progress of a repricing job.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the repricing job"),
+            @ApiResponse(responseCode = "404", description = "Repricing job not found")
+    })
+    @GetMapping("/{id}")
+    public RepricingJob getRepricingJob(@PathVariable Long id) {
+        log.debug("Enter in getRepricingJob() with id: {}", id);
+        return repricingService.getRepricingJob(id);
+    }
+
+    /**
+     * Handles the POST request to resume a failed or interrupted repricing job.
+     *
+     * @param id the ID of the repricing job
+     * @return a {@link ResponseEntity} with the resumed job and HTTP status 202 Accepted
+     */
+    @Operation(summary = "Resume a repricing job", description = "Apply the chunks of a failed or interrupted repricing job that are not applied yet.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Successfully resumed the repricing job"),
+            @ApiResponse(responseCode = "404", description = "Repricing job not found")
+    })
+    @PostMapping("/{id}" + ProductManagementConstants.RESUME)
+    public ResponseEntity<RepricingJob> resumeRepricing(@PathVariable Long id) {
+        log.debug("Enter in resumeRepricing() with id: {}", id);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(repricingService.resumeRepricing(id));
+    }
+}
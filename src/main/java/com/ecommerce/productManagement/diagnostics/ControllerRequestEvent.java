@@ -0,0 +1,42 @@
+package com.ecommerce.productManagement.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event covering one HTTP request handled by a controller, from the call of its handler to the completion of the response.
+ */
+@Name("com.ecommerce.productManagement.ControllerRequest")
+@Label("Controller Request")
+@Category({"Product Management", "Controller"})
+@Description("HTTP request handled by a controller")
+@StackTrace(false)
+public class ControllerRequestEvent extends Event {
+
+    @Label("Operation")
+    @Description("Controller class and method handling the request")
+    String operation;
+
+    @Label("HTTP Method")
+    String httpMethod;
+
+    @Label("Path")
+    @Description("Path pattern matched by the request")
+    String path;
+
+    @Label("Id")
+    @Description("Value of the id path variable, 0 when the path has none")
+    long id;
+
+    @Label("Status")
+    @Description("HTTP status of the response")
+    int status;
+
+    @Label("Failed")
+    @Description("Whether the handler ended with an exception")
+    boolean failed;
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.productManagement.diagnostics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Records a {@link ControllerRequestEvent} for every request handled by a controller method.
+ * While no recording is running the event is only started, never filled nor committed.
+ */
+@Component
+public class ControllerRequestInterceptor implements HandlerInterceptor {
+
+    private static final String EVENT_ATTRIBUTE = ControllerRequestEvent.class.getName();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            ControllerRequestEvent event = new ControllerRequestEvent();
+            event.begin();
+            request.setAttribute(EVENT_ATTRIBUTE, event);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(EVENT_ATTRIBUTE) instanceof ControllerRequestEvent event)) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            event.operation = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+            event.httpMethod = request.getMethod();
+            event.path = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            event.id = pathId(request);
+            event.status = response.getStatus();
+            event.failed = ex != null;
+            event.commit();
+        }
+    }
+
+    private static long pathId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> map && map.get("id") instanceof String id) {
+            try {
+                return Long.parseLong(id);
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+}
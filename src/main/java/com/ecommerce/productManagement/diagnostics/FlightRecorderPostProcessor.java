@@ -0,0 +1,164 @@
+package com.ecommerce.productManagement.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Makes every call to a service, a repository or the {@link JdbcTemplate} record a flight recorder event with
+ * its duration, operation, first id argument and row count, plus the SQL text for the {@link JdbcTemplate}.
+ * Services and the {@link JdbcTemplate} get a class based proxy, since they are injected by class;
+ * repositories, which already are proxies, get one more advice.
+ * Calls a service makes to its own methods do not go through the proxy and are not recorded.
+ * While no recording is running an event is only started, never filled nor committed.
+ */
+@Component
+public class FlightRecorderPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof Repository<?, ?>) {
+            String repository = repositoryName(bean);
+            MethodInterceptor interceptor = invocation -> recordRepositoryCall(invocation, repository, false);
+            if (bean instanceof Advised advised && !advised.isFrozen()) {
+                // First in the chain, the last advice of a repository answers query methods without proceeding
+                advised.addAdvice(0, interceptor);
+                return bean;
+            }
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.addAdvice(interceptor);
+            return proxyFactory.getProxy();
+        }
+        if (bean instanceof JdbcTemplate) {
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAdvice((MethodInterceptor) invocation ->
+                    recordRepositoryCall(invocation, JdbcTemplate.class.getSimpleName(), true));
+            return proxyFactory.getProxy();
+        }
+        Class<?> beanClass = ClassUtils.getUserClass(bean);
+        if (AnnotationUtils.findAnnotation(beanClass, Service.class) != null) {
+            String service = beanClass.getSimpleName();
+            ProxyFactory proxyFactory = new ProxyFactory(bean);
+            proxyFactory.setProxyTargetClass(true);
+            proxyFactory.addAdvice((MethodInterceptor) invocation -> recordServiceCall(invocation, service));
+            return proxyFactory.getProxy();
+        }
+        return bean;
+    }
+
+    private static Object recordServiceCall(MethodInvocation invocation, String service) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = service;
+                event.operation = invocation.getMethod().getName();
+                event.id = firstId(invocation.getArguments());
+                event.rowCount = rowCount(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static Object recordRepositoryCall(MethodInvocation invocation, String repository, boolean withSql)
+            throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.operation = invocation.getMethod().getName();
+                event.sql = withSql ? firstString(invocation.getArguments()) : null;
+                event.id = firstId(invocation.getArguments());
+                event.rowCount = rowCount(result);
+                event.failed = failed;
+                event.commit();
+            }
+        }
+    }
+
+    private static String repositoryName(Object repository) {
+        for (Class<?> type : ClassUtils.getAllInterfaces(repository)) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework")) {
+                return type.getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(repository).getSimpleName();
+    }
+
+    private static long firstId(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof Long id) {
+                return id;
+            }
+        }
+        return 0;
+    }
+
+    private static String firstString(Object[] arguments) {
+        for (Object argument : arguments) {
+            if (argument instanceof String text) {
+                return text;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Counts the items of a result: the elements of a collection or page, one for a present value,
+     * and the number of updated rows for the int returned by a modifying query.
+     */
+    static long rowCount(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Boolean found) {
+            return found ? 1 : 0;
+        }
+        if (result instanceof Integer updatedRows) {
+            return updatedRows;
+        }
+        if (result.getClass().isArray()) {
+            return Array.getLength(result);
+        }
+        return 1;
+    }
+}
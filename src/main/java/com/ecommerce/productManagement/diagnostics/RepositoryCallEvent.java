@@ -0,0 +1,42 @@
+package com.ecommerce.productManagement.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event covering one call to a Spring Data repository, and therefore the statements it ran,
+ * or one statement run through the {@code JdbcTemplate}.
+ */
+@Name("com.ecommerce.productManagement.RepositoryCall")
+@Label("Repository Call")
+@Category({"Product Management", "Repository"})
+@Description("Call to a method of a repository or of the JdbcTemplate")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("SQL")
+    @Description("Statement run through the JdbcTemplate, absent for a repository call")
+    String sql;
+
+    @Label("Id")
+    @Description("First id argument of the call, 0 when the call has none")
+    long id;
+
+    @Label("Row Count")
+    @Description("Number of rows returned, or updated by a modifying query")
+    long rowCount;
+
+    @Label("Failed")
+    @Description("Whether the call ended with an exception")
+    boolean failed;
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.productManagement.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event covering one call made to a service from outside of it.
+ */
+@Name("com.ecommerce.productManagement.ServiceCall")
+@Label("Service Call")
+@Category({"Product Management", "Service"})
+@Description("Call to a method of a service")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Id")
+    @Description("First id argument of the call, 0 when the call has none")
+    long id;
+
+    @Label("Row Count")
+    @Description("Number of items returned by the call")
+    long rowCount;
+
+    @Label("Failed")
+    @Description("Whether the call ended with an exception")
+    boolean failed;
+}
@@ -1,5 +1,9 @@
 package com.ecommerce.productManagement.exception;
 
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
@@ -40,6 +44,61 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * This method catches the {@link OptimisticLockingFailureException} thrown when a product
+     * keeps being changed by someone else while it is updated.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        Map<String, String> errorMessage = new HashMap<>();
+        errorMessage.put("error", ProductManagementConstants.CONCURRENT_UPDATE);
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * This method catches the {@link RepricingJobNotFoundException} thrown by the application
+     * when a repricing job is not found by its ID.
+     */
+    @ExceptionHandler(RepricingJobNotFoundException.class)
+    public ResponseEntity<Object> handleRepricingJobNotFoundException(RepricingJobNotFoundException ex) {
+        Map<String, String> errorMessage = new HashMap<>();
+        errorMessage.put("error", ex.getMessage());
+        return new ResponseEntity<>(errorMessage, HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * This method catches the {@link InvalidRepricingRuleException} thrown by the application
+     * when a repricing rule would produce a price that is not positive.
+     */
+    @ExceptionHandler(InvalidRepricingRuleException.class)
+    public ResponseEntity<Object> handleInvalidRepricingRuleException(InvalidRepricingRuleException ex) {
+        Map<String, String> errorMessage = new HashMap<>();
+        errorMessage.put("error", ex.getMessage());
+        return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * This method catches the {@link RecordingStateException} thrown by the application
+     * when a flight recording is started, stopped or dumped in a state that does not allow it.
+     */
+    @ExceptionHandler(RecordingStateException.class)
+    public ResponseEntity<Object> handleRecordingStateException(RecordingStateException ex) {
+        Map<String, String> errorMessage = new HashMap<>();
+        errorMessage.put("error", ex.getMessage());
+        return new ResponseEntity<>(errorMessage, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * This method catches the {@link InvalidRecordingProfileException} thrown by the application
+     * when a flight recording is started with a configuration the JVM does not know.
+     */
+    @ExceptionHandler(InvalidRecordingProfileException.class)
+    public ResponseEntity<Object> handleInvalidRecordingProfileException(InvalidRecordingProfileException ex) {
+        Map<String, String> errorMessage = new HashMap<>();
+        errorMessage.put("error", ex.getMessage());
+        return new ResponseEntity<>(errorMessage, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * This method catches {@link MethodArgumentNotValidException}, which occurs when the request body
      * fails to meet the validation constraints (e.g., a missing required field or an invalid value).
@@ -54,4 +113,18 @@ public class GlobalExceptionHandler {
         }
         return new ResponseEntity<>(errorMessages, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * This method catches {@link ConstraintViolationException}, which occurs when a request parameter
+     * fails to meet the validation constraints (e.g., a result limit out of range).
+     */
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Object> handleConstraintViolationException(ConstraintViolationException ex) {
+        Map<String, String> errorMessages = new HashMap<>();
+
+        for (ConstraintViolation<?> violation : ex.getConstraintViolations()) {
+            errorMessages.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return new ResponseEntity<>(errorMessages, HttpStatus.BAD_REQUEST);
+    }
 }
\ No newline at end of file
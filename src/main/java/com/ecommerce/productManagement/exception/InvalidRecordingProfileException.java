@@ -0,0 +1,22 @@
+package com.ecommerce.productManagement.exception;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+
+public class InvalidRecordingProfileException extends RuntimeException {
+
+    public InvalidRecordingProfileException() {
+        super(ProductManagementConstants.UNKNOWN_RECORDING_PROFILE);
+    }
+
+    public InvalidRecordingProfileException(String message) {
+        super(message);
+    }
+
+    public InvalidRecordingProfileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidRecordingProfileException(Throwable cause) {
+        super(cause);
+    }
+}
\ No newline at end of file
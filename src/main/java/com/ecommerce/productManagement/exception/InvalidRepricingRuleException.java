@@ -0,0 +1,22 @@
+package com.ecommerce.productManagement.exception;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+
+public class InvalidRepricingRuleException extends RuntimeException {
+
+    public InvalidRepricingRuleException() {
+        super(ProductManagementConstants.INVALID_REPRICING_RULE);
+    }
+
+    public InvalidRepricingRuleException(String message) {
+        super(message);
+    }
+
+    public InvalidRepricingRuleException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidRepricingRuleException(Throwable cause) {
+        super(cause);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.ecommerce.productManagement.exception;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+
+public class RecordingStateException extends RuntimeException {
+
+    public RecordingStateException() {
+        super(ProductManagementConstants.NO_RECORDING);
+    }
+
+    public RecordingStateException(String message) {
+        super(message);
+    }
+
+    public RecordingStateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public RecordingStateException(Throwable cause) {
+        super(cause);
+    }
+}
\ No newline at end of file
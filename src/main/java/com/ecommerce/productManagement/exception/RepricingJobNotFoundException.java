@@ -0,0 +1,22 @@
+package com.ecommerce.productManagement.exception;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+
+public class RepricingJobNotFoundException extends RuntimeException {
+
+    public RepricingJobNotFoundException() {
+        super(ProductManagementConstants.REPRICING_JOB_NOT_FOUND);
+    }
+
+    public RepricingJobNotFoundException(String message) {
+        super(message);
+    }
+
+    public RepricingJobNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public RepricingJobNotFoundException(Throwable cause) {
+        super(cause);
+    }
+}
\ No newline at end of file
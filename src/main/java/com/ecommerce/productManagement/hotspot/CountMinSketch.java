@@ -0,0 +1,76 @@
+package com.ecommerce.productManagement.hotspot;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch of product ids whose counts decay over time.
+ * Each id is counted in one cell of every row; its estimate is the smallest of those cells, which may
+ * overcount because of collisions but never undercounts. Counts are fixed point with 16 fractional bits,
+ * so that decaying them keeps the fraction of small counts instead of rounding them to zero.
+ * Memory is fixed by the width and depth, whatever the number of ids counted.
+ * Increments and decays are lock-free and atomic per cell, so an increment racing with a decay is never lost.
+ */
+final class CountMinSketch {
+
+    private static final long ONE = 1L << 16;
+    private static final long SEED = 0x9E3779B97F4A7C15L;
+
+    private final AtomicLongArray counters;
+    private final int width;
+    private final int depth;
+
+    /**
+     * @param width the number of cells per row, rounded up to a power of two.
+     * @param depth the number of rows, each row lowering the odds of an overcount.
+     */
+    CountMinSketch(int width, int depth) {
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.depth = depth;
+        this.counters = new AtomicLongArray(this.width * depth);
+    }
+
+    /**
+     * Counts one occurrence of the id.
+     *
+     * @return the estimated count of the id, this occurrence included.
+     */
+    double increment(long id) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.addAndGet(index(row, id), ONE));
+        }
+        return (double) min / ONE;
+    }
+
+    /**
+     * Returns the estimated count of the id.
+     */
+    double estimate(long id) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(row, id)));
+        }
+        return (double) min / ONE;
+    }
+
+    /**
+     * Multiplies every count by the given factor.
+     */
+    void decay(double factor) {
+        for (int i = 0; i < counters.length(); i++) {
+            if (counters.get(i) != 0) {
+                counters.getAndUpdate(i, count -> (long) (count * factor));
+            }
+        }
+    }
+
+    private int index(int row, long id) {
+        return row * width + (int) (mix(id + row * SEED) & (width - 1));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.productManagement.hotspot;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ids counted most often in a {@link CountMinSketch}, at most {@code capacity} of them.
+ * An id joins the set once its estimate beats the lowest estimate of the set, which then drops that id.
+ * Only such a change takes the lock: for ids below the threshold and ids already in the set,
+ * recording an occurrence costs the sketch increment and a lookup.
+ */
+final class HeavyHitters {
+
+    /**
+     * An id of the set with its estimated count.
+     */
+    record HeavyHitter(long id, double count) {
+    }
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final long[] ids;
+    private final Set<Long> members = ConcurrentHashMap.newKeySet();
+    private int size;
+    private volatile double threshold;
+
+    HeavyHitters(CountMinSketch sketch, int capacity) {
+        this.sketch = sketch;
+        this.capacity = capacity;
+        this.ids = new long[capacity];
+    }
+
+    /**
+     * Counts one occurrence of the id, adding it to the set if it is now among the most counted.
+     */
+    void record(long id) {
+        double estimate = sketch.increment(id);
+        if (estimate > threshold && !members.contains(id)) {
+            offer(id, estimate);
+        }
+    }
+
+    double estimate(long id) {
+        return sketch.estimate(id);
+    }
+
+    boolean contains(long id) {
+        return members.contains(id);
+    }
+
+    /**
+     * Returns the most counted ids, highest count first.
+     *
+     * @param limit the maximum number of ids to return.
+     */
+    synchronized List<HeavyHitter> top(int limit) {
+        List<HeavyHitter> hitters = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hitters.add(new HeavyHitter(ids[i], sketch.estimate(ids[i])));
+        }
+        hitters.sort(Comparator.comparingDouble(HeavyHitter::count).reversed());
+        return hitters.size() > limit ? hitters.subList(0, limit) : hitters;
+    }
+
+    /**
+     * Multiplies every count by the given factor.
+     */
+    synchronized void decay(double factor) {
+        sketch.decay(factor);
+        refreshThreshold();
+    }
+
+    private synchronized void offer(long id, double estimate) {
+        if (members.contains(id)) {
+            return;
+        }
+        if (size < capacity) {
+            ids[size++] = id;
+            members.add(id);
+        } else {
+            int lowest = indexOfLowest();
+            if (estimate <= sketch.estimate(ids[lowest])) {
+                refreshThreshold();
+                return;
+            }
+            members.remove(ids[lowest]);
+            ids[lowest] = id;
+            members.add(id);
+        }
+        refreshThreshold();
+    }
+
+    /**
+     * Raises the bar for joining the set to its lowest estimate, once the set is full.
+     */
+    private void refreshThreshold() {
+        threshold = size < capacity ? 0 : sketch.estimate(ids[indexOfLowest()]);
+    }
+
+    private int indexOfLowest() {
+        int lowest = 0;
+        double lowestCount = Double.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            double count = sketch.estimate(ids[i]);
+            if (count < lowestCount) {
+                lowest = i;
+                lowestCount = count;
+            }
+        }
+        return lowest;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ecommerce.productManagement.hotspot;
+
+import com.ecommerce.productManagement.cache.ProductAdmissionPolicy;
+import com.ecommerce.productManagement.model.AccessType;
+import com.ecommerce.productManagement.model.HotProduct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks the most read and the most written products with a fixed amount of memory.
+ * Accesses are counted in a decaying {@link CountMinSketch} per access type, next to the
+ * {@code product.hot.top-k} most counted ids. Every tick multiplies the counts by a factor chosen so
+ * that they halve every {@code product.hot.half-life-ms}: a product that stops being accessed cools down,
+ * and the count of a steady stream of accesses settles at a multiple of its rate.
+ * <p>
+ * The read counts double as the {@link ProductAdmissionPolicy} of the near-cache: the most read
+ * products are pinned, and a product only replaces a cached one that is read less often.
+ */
+@Component
+public class HotProductTracker implements ProductAdmissionPolicy {
+
+    private final HeavyHitters reads;
+    private final HeavyHitters writes;
+    private final double decayFactor;
+    private final double countPerRate;
+
+    @Autowired
+    public HotProductTracker(@Value("${product.hot.sketch-width:4096}") int sketchWidth,
+                             @Value("${product.hot.sketch-depth:4}") int sketchDepth,
+                             @Value("${product.hot.top-k:100}") int topK,
+                             @Value("${product.hot.half-life-ms:60000}") long halfLifeMillis,
+                             @Value("${product.hot.tick-ms:1000}") long tickMillis) {
+        this.reads = new HeavyHitters(new CountMinSketch(sketchWidth, sketchDepth), topK);
+        this.writes = new HeavyHitters(new CountMinSketch(sketchWidth, sketchDepth), topK);
+        this.decayFactor = Math.pow(0.5, (double) tickMillis / halfLifeMillis);
+        // Right after a tick, r accesses per second have added up to r * tick * factor / (1 - factor)
+        this.countPerRate = tickMillis / 1000.0 * decayFactor / (1 - decayFactor);
+    }
+
+    /**
+     * Counts a read of the product.
+     */
+    public void recordRead(long id) {
+        reads.record(id);
+    }
+
+    /**
+     * Counts a creation, update or deletion of the product.
+     */
+    public void recordWrite(long id) {
+        writes.record(id);
+    }
+
+    /**
+     * Returns the most accessed products with their estimated rate.
+     *
+     * @param type  the kind of access to rank the products by.
+     * @param limit the maximum number of products to return.
+     * @return the hot products, highest rate first.
+     */
+    public List<HotProduct> getHotProducts(AccessType type, int limit) {
+        List<HeavyHitters.HeavyHitter> hitters = (type == AccessType.WRITE ? writes : reads).top(limit);
+        List<HotProduct> hotProducts = new ArrayList<>(hitters.size());
+        for (HeavyHitters.HeavyHitter hitter : hitters) {
+            hotProducts.add(new HotProduct(hitter.id(), hitter.count() / countPerRate));
+        }
+        return hotProducts;
+    }
+
+    /**
+     * Returns the estimated number of accesses per second to the product.
+     */
+    public double estimateRate(AccessType type, long id) {
+        return (type == AccessType.WRITE ? writes : reads).estimate(id) / countPerRate;
+    }
+
+    /**
+     * Decays every count by one tick.
+     */
+    @Scheduled(fixedRateString = "${product.hot.tick-ms:1000}")
+    public void tick() {
+        reads.decay(decayFactor);
+        writes.decay(decayFactor);
+    }
+
+    @Override
+    public double frequency(long id) {
+        return reads.estimate(id);
+    }
+
+    @Override
+    public boolean isPinned(long id) {
+        return reads.contains(id);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.productManagement.index;
+
+/**
+ * Hash map from long keys to long values held in primitive arrays, with open addressing and linear probing.
+ * A removal shifts the entries that follow it back into place instead of leaving a tombstone,
+ * so lookups never slow down however many entries were removed.
+ * This class is not thread-safe, callers are expected to guard it with a lock.
+ */
+class LongLongMap {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the value stored under the key, or {@code missing} if there is none.
+     */
+    long get(long key, long missing) {
+        int slot = find(key);
+        return used[slot] ? values[slot] : missing;
+    }
+
+    boolean containsKey(long key) {
+        return used[find(key)];
+    }
+
+    /**
+     * Stores the value under the key, replacing the previous value if any.
+     */
+    void put(long key, long value) {
+        int slot = find(key);
+        if (!used[slot]) {
+            if ((size + 1) * 4L > keys.length * 3L) {
+                grow();
+                slot = find(key);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Removes the key and its value.
+     *
+     * @return true if the key was present, otherwise false.
+     */
+    boolean remove(long key) {
+        int slot = find(key);
+        if (!used[slot]) {
+            return false;
+        }
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; used[next]; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            // The entry may fill the hole unless its home slot lies cyclically between the hole and itself
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+        }
+        used[hole] = false;
+        size--;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot holding the key, or the empty slot where it would be stored.
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (used[slot] && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = find(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,456 @@
+package com.ecommerce.productManagement.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * Radix tree from normalized names to the ids stored under them, each id carrying a popularity weight.
+ * Edges hold whole substrings rather than single characters, so a name costs about one node and one entry.
+ * Nodes and entries live in parallel primitive arrays and are recycled through free lists, so deletes
+ * do not leave garbage behind. Every node also records the highest weight found in its subtree,
+ * which lets the most popular completions be found without visiting the whole subtree.
+ * An id is stored under one key at most: the trie maps every id to its entry, so an id can be moved,
+ * reweighted or removed without knowing the key it is stored under.
+ * This class is not thread-safe, callers are expected to guard it with a lock.
+ */
+class PrefixTrie {
+
+    static final int NONE = -1;
+
+    private static final int ROOT = 0;
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Receives the entries found under a prefix.
+     */
+    interface EntryConsumer {
+        void accept(long id, String name, long weight);
+    }
+
+    private record Candidate(long weight, int index, boolean entry) {
+    }
+
+    private static final Comparator<Candidate> BY_WEIGHT = Comparator.comparingLong(Candidate::weight).reversed()
+            .thenComparing(Candidate::entry, Comparator.reverseOrder());
+
+    private String[] labels;
+    private int[] parents;
+    private int[] firstChildren;
+    private int[] nextSiblings;
+    private int[] firstEntries;
+    private long[] maxWeights;
+    private int nodeCount;
+    private int freeNode;
+
+    private long[] entryIds;
+    private String[] entryNames;
+    private long[] entryWeights;
+    private int[] entryNexts;
+    private int[] entryNodes;
+    private LongLongMap entriesById;
+    private int entryCount;
+    private int freeEntry;
+
+    private int size;
+
+    PrefixTrie() {
+        clear();
+    }
+
+    /**
+     * Stores an id under the given key, removing it from the key it was stored under if any.
+     *
+     * @param key    the normalized name.
+     * @param id     the id to store.
+     * @param name   the name to hand back with the id, as originally written.
+     * @param weight the popularity of the id, not negative.
+     */
+    void insert(String key, long id, String name, long weight) {
+        remove(id);
+        int node = ROOT;
+        int pos = 0;
+        while (pos < key.length()) {
+            char c = key.charAt(pos);
+            int previous = NONE;
+            int child = firstChildren[node];
+            while (child != NONE && labels[child].charAt(0) < c) {
+                previous = child;
+                child = nextSiblings[child];
+            }
+            if (child == NONE || labels[child].charAt(0) != c) {
+                int leaf = newNode(key.substring(pos), node);
+                link(node, previous, leaf, child);
+                node = leaf;
+                break;
+            }
+            String label = labels[child];
+            int common = commonPrefixLength(label, key, pos);
+            if (common < label.length()) {
+                // The key leaves the edge halfway: split the edge at the point where they differ
+                int middle = newNode(label.substring(0, common), node);
+                link(node, previous, middle, nextSiblings[child]);
+                labels[child] = label.substring(common);
+                parents[child] = middle;
+                nextSiblings[child] = NONE;
+                firstChildren[middle] = child;
+                maxWeights[middle] = maxWeights[child];
+                child = middle;
+            }
+            node = child;
+            pos += common;
+        }
+        addEntry(node, id, name, weight);
+        raiseMaxWeight(node, weight);
+    }
+
+    /**
+     * Removes an id from the key it is stored under.
+     *
+     * @return the weight the id had, or {@link #NONE} if the id was not stored.
+     */
+    long remove(long id) {
+        int entry = (int) entriesById.get(id, NONE);
+        if (entry == NONE) {
+            return NONE;
+        }
+        int node = entryNodes[entry];
+        if (firstEntries[node] == entry) {
+            firstEntries[node] = entryNexts[entry];
+        } else {
+            int previous = firstEntries[node];
+            while (entryNexts[previous] != entry) {
+                previous = entryNexts[previous];
+            }
+            entryNexts[previous] = entryNexts[entry];
+        }
+        long weight = entryWeights[entry];
+        entriesById.remove(id);
+        freeEntry(entry);
+        size--;
+        refreshMaxWeight(prune(node));
+        return weight;
+    }
+
+    /**
+     * Adds to the weight of an id.
+     *
+     * @return true if the id was found, otherwise false.
+     */
+    boolean addWeight(long id, long delta) {
+        int entry = (int) entriesById.get(id, NONE);
+        if (entry == NONE) {
+            return false;
+        }
+        entryWeights[entry] += delta;
+        raiseMaxWeight(entryNodes[entry], entryWeights[entry]);
+        return true;
+    }
+
+    /**
+     * Returns the weight of an id, or {@link #NONE} if the id is not stored.
+     */
+    long weight(long id) {
+        int entry = (int) entriesById.get(id, NONE);
+        return entry == NONE ? NONE : entryWeights[entry];
+    }
+
+    /**
+     * Returns the name stored with an id, or null if the id is not stored.
+     */
+    String name(long id) {
+        int entry = (int) entriesById.get(id, NONE);
+        return entry == NONE ? null : entryNames[entry];
+    }
+
+    /**
+     * Hands the entries whose key starts with {@code prefix} to the consumer, in key order.
+     *
+     * @return the number of entries handed over, at most {@code limit}.
+     */
+    int collectInKeyOrder(String prefix, int limit, EntryConsumer consumer) {
+        int node = findPrefix(prefix);
+        return node == NONE ? 0 : collectInKeyOrder(node, limit, 0, consumer);
+    }
+
+    /**
+     * Hands the entries whose key starts with {@code prefix} to the consumer, heaviest first.
+     * Only the subtrees that may still hold one of the {@code limit} heaviest entries are visited.
+     *
+     * @return the number of entries handed over, at most {@code limit}.
+     */
+    int collectByWeight(String prefix, int limit, EntryConsumer consumer) {
+        int node = findPrefix(prefix);
+        if (node == NONE) {
+            return 0;
+        }
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BY_WEIGHT);
+        candidates.add(new Candidate(maxWeights[node], node, false));
+        int count = 0;
+        while (count < limit && !candidates.isEmpty()) {
+            Candidate candidate = candidates.poll();
+            int index = candidate.index();
+            if (candidate.entry()) {
+                consumer.accept(entryIds[index], entryNames[index], entryWeights[index]);
+                count++;
+                continue;
+            }
+            for (int entry = firstEntries[index]; entry != NONE; entry = entryNexts[entry]) {
+                candidates.add(new Candidate(entryWeights[entry], entry, true));
+            }
+            for (int child = firstChildren[index]; child != NONE; child = nextSiblings[child]) {
+                candidates.add(new Candidate(maxWeights[child], child, false));
+            }
+        }
+        return count;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        labels = new String[INITIAL_CAPACITY];
+        parents = new int[INITIAL_CAPACITY];
+        firstChildren = new int[INITIAL_CAPACITY];
+        nextSiblings = new int[INITIAL_CAPACITY];
+        firstEntries = new int[INITIAL_CAPACITY];
+        maxWeights = new long[INITIAL_CAPACITY];
+        nodeCount = 0;
+        freeNode = NONE;
+        entryIds = new long[INITIAL_CAPACITY];
+        entryNames = new String[INITIAL_CAPACITY];
+        entryWeights = new long[INITIAL_CAPACITY];
+        entryNexts = new int[INITIAL_CAPACITY];
+        entryNodes = new int[INITIAL_CAPACITY];
+        entriesById = new LongLongMap();
+        entryCount = 0;
+        freeEntry = NONE;
+        size = 0;
+        newNode("", NONE);
+    }
+
+    private int collectInKeyOrder(int node, int limit, int count, EntryConsumer consumer) {
+        for (int entry = firstEntries[node]; entry != NONE && count < limit; entry = entryNexts[entry]) {
+            consumer.accept(entryIds[entry], entryNames[entry], entryWeights[entry]);
+            count++;
+        }
+        for (int child = firstChildren[node]; child != NONE && count < limit; child = nextSiblings[child]) {
+            count = collectInKeyOrder(child, limit, count, consumer);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the highest node whose subtree holds every key starting with {@code prefix}, or {@link #NONE}.
+     */
+    private int findPrefix(String prefix) {
+        int node = ROOT;
+        int pos = 0;
+        while (pos < prefix.length()) {
+            int child = findChild(node, prefix.charAt(pos));
+            if (child == NONE) {
+                return NONE;
+            }
+            String label = labels[child];
+            int remaining = prefix.length() - pos;
+            if (remaining <= label.length()) {
+                return label.regionMatches(0, prefix, pos, remaining) ? child : NONE;
+            }
+            if (!prefix.startsWith(label, pos)) {
+                return NONE;
+            }
+            pos += label.length();
+            node = child;
+        }
+        return node;
+    }
+
+    private int findChild(int node, char c) {
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            char first = labels[child].charAt(0);
+            if (first == c) {
+                return child;
+            }
+            if (first > c) {
+                return NONE;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Drops the nodes left useless by a removal: leaves without entries are freed, and a node left
+     * with a single child and no entry is folded into that child.
+     *
+     * @return the lowest node of the path that is still in the tree.
+     */
+    private int prune(int node) {
+        while (node != ROOT && firstEntries[node] == NONE) {
+            int parent = parents[node];
+            int child = firstChildren[node];
+            if (child == NONE) {
+                unlink(parent, node, NONE);
+                freeNode(node);
+                node = parent;
+            } else if (nextSiblings[child] == NONE) {
+                labels[child] = labels[node] + labels[child];
+                parents[child] = parent;
+                unlink(parent, node, child);
+                freeNode(node);
+                return parent;
+            } else {
+                break;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Raises the highest weight recorded on the path from {@code node} to the root.
+     */
+    private void raiseMaxWeight(int node, long weight) {
+        for (int n = node; n != NONE && maxWeights[n] < weight; n = parents[n]) {
+            maxWeights[n] = weight;
+        }
+    }
+
+    /**
+     * Recomputes the highest weight on the path from {@code node} to the root after a removal.
+     */
+    private void refreshMaxWeight(int node) {
+        for (int n = node; n != NONE; n = parents[n]) {
+            long max = 0;
+            for (int entry = firstEntries[n]; entry != NONE; entry = entryNexts[entry]) {
+                max = Math.max(max, entryWeights[entry]);
+            }
+            for (int child = firstChildren[n]; child != NONE; child = nextSiblings[child]) {
+                max = Math.max(max, maxWeights[child]);
+            }
+            if (max == maxWeights[n]) {
+                return;
+            }
+            maxWeights[n] = max;
+        }
+    }
+
+    private void addEntry(int node, long id, String name, long weight) {
+        int previous = NONE;
+        int next = firstEntries[node];
+        while (next != NONE && entryIds[next] < id) {
+            previous = next;
+            next = entryNexts[next];
+        }
+        int entry = newEntry(id, name, weight);
+        entryNexts[entry] = next;
+        entryNodes[entry] = node;
+        entriesById.put(id, entry);
+        if (previous == NONE) {
+            firstEntries[node] = entry;
+        } else {
+            entryNexts[previous] = entry;
+        }
+        size++;
+    }
+
+    /**
+     * Puts {@code node} in the child list of {@code parent}, between {@code previous} and {@code next}.
+     */
+    private void link(int parent, int previous, int node, int next) {
+        nextSiblings[node] = next;
+        if (previous == NONE) {
+            firstChildren[parent] = node;
+        } else {
+            nextSiblings[previous] = node;
+        }
+    }
+
+    /**
+     * Takes {@code node} out of the child list of {@code parent}, putting {@code replacement} in its place if any.
+     */
+    private void unlink(int parent, int node, int replacement) {
+        int next = nextSiblings[node];
+        if (replacement != NONE) {
+            nextSiblings[replacement] = next;
+            next = replacement;
+        }
+        if (firstChildren[parent] == node) {
+            firstChildren[parent] = next;
+            return;
+        }
+        int previous = firstChildren[parent];
+        while (nextSiblings[previous] != node) {
+            previous = nextSiblings[previous];
+        }
+        nextSiblings[previous] = next;
+    }
+
+    private int newNode(String label, int parent) {
+        int node;
+        if (freeNode != NONE) {
+            node = freeNode;
+            freeNode = nextSiblings[node];
+        } else {
+            if (nodeCount == labels.length) {
+                int capacity = nodeCount * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+                firstEntries = Arrays.copyOf(firstEntries, capacity);
+                maxWeights = Arrays.copyOf(maxWeights, capacity);
+            }
+            node = nodeCount++;
+        }
+        labels[node] = label;
+        parents[node] = parent;
+        firstChildren[node] = NONE;
+        nextSiblings[node] = NONE;
+        firstEntries[node] = NONE;
+        maxWeights[node] = 0;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        labels[node] = null;
+        nextSiblings[node] = freeNode;
+        freeNode = node;
+    }
+
+    private int newEntry(long id, String name, long weight) {
+        int entry;
+        if (freeEntry != NONE) {
+            entry = freeEntry;
+            freeEntry = entryNexts[entry];
+        } else {
+            if (entryCount == entryIds.length) {
+                int capacity = entryCount * 2;
+                entryIds = Arrays.copyOf(entryIds, capacity);
+                entryNames = Arrays.copyOf(entryNames, capacity);
+                entryWeights = Arrays.copyOf(entryWeights, capacity);
+                entryNexts = Arrays.copyOf(entryNexts, capacity);
+                entryNodes = Arrays.copyOf(entryNodes, capacity);
+            }
+            entry = entryCount++;
+        }
+        entryIds[entry] = id;
+        entryNames[entry] = name;
+        entryWeights[entry] = weight;
+        return entry;
+    }
+
+    private void freeEntry(int entry) {
+        entryNames[entry] = null;
+        entryNexts[entry] = freeEntry;
+        freeEntry = entry;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+}
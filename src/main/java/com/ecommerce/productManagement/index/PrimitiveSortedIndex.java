@@ -0,0 +1,257 @@
+package com.ecommerce.productManagement.index;
+
+import java.util.Arrays;
+
+/**
+ * Ordered set of (key, id) pairs kept in fixed-size blocks of primitive arrays.
+ * Entries are sorted by key and then by id, so entries sharing a key have a stable order.
+ * No object is allocated per entry: an entry costs 16 bytes plus the free space left in its block.
+ * This class is not thread-safe, callers are expected to guard it with a lock.
+ */
+class PrimitiveSortedIndex {
+
+    static final int BLOCK_SIZE = 1024;
+
+    private long[][] keys = new long[1][BLOCK_SIZE];
+    private long[][] ids = new long[1][BLOCK_SIZE];
+    private int[] sizes = new int[1];
+    private int blockCount = 1;
+    private long size;
+
+    /**
+     * Adds the given pair to the index. Adding a pair that is already present has no effect.
+     *
+     * @param key the sort key.
+     * @param id  the id stored under the key.
+     */
+    void insert(long key, long id) {
+        int block = findBlock(key, id);
+        int pos = lowerBound(block, key, id);
+        if (pos < sizes[block] && keys[block][pos] == key && ids[block][pos] == id) {
+            return;
+        }
+        if (sizes[block] == BLOCK_SIZE) {
+            splitBlock(block);
+            int half = BLOCK_SIZE / 2;
+            if (pos > half) {
+                block++;
+                pos -= half;
+            }
+        }
+        int n = sizes[block];
+        System.arraycopy(keys[block], pos, keys[block], pos + 1, n - pos);
+        System.arraycopy(ids[block], pos, ids[block], pos + 1, n - pos);
+        keys[block][pos] = key;
+        ids[block][pos] = id;
+        sizes[block]++;
+        size++;
+    }
+
+    /**
+     * Removes the given pair from the index.
+     *
+     * @param key the sort key the id was stored under.
+     * @param id  the id to remove.
+     * @return true if the pair was present, otherwise false.
+     */
+    boolean remove(long key, long id) {
+        int block = findBlock(key, id);
+        int pos = lowerBound(block, key, id);
+        int n = sizes[block];
+        if (pos == n || keys[block][pos] != key || ids[block][pos] != id) {
+            return false;
+        }
+        System.arraycopy(keys[block], pos + 1, keys[block], pos, n - pos - 1);
+        System.arraycopy(ids[block], pos + 1, ids[block], pos, n - pos - 1);
+        sizes[block]--;
+        size--;
+        mergeIfSparse(block);
+        return true;
+    }
+
+    /**
+     * Copies into {@code out} the ids whose key lies in [fromKey, toKey], smallest key first.
+     *
+     * @return the number of ids written, at most {@code limit}.
+     */
+    int scanAscending(long fromKey, long toKey, long[] out, int limit) {
+        int count = 0;
+        int block = findBlock(fromKey, Long.MIN_VALUE);
+        int pos = lowerBound(block, fromKey, Long.MIN_VALUE);
+        while (count < limit && block < blockCount) {
+            if (pos >= sizes[block]) {
+                block++;
+                pos = 0;
+                continue;
+            }
+            if (keys[block][pos] > toKey) {
+                break;
+            }
+            out[count++] = ids[block][pos++];
+        }
+        return count;
+    }
+
+    /**
+     * Copies into {@code out} the ids whose key lies in [fromKey, toKey], largest key first.
+     *
+     * @return the number of ids written, at most {@code limit}.
+     */
+    int scanDescending(long fromKey, long toKey, long[] out, int limit) {
+        int count = 0;
+        int block = findBlock(toKey, Long.MAX_VALUE);
+        int pos = upperBound(block, toKey, Long.MAX_VALUE) - 1;
+        while (count < limit && block >= 0) {
+            if (pos < 0) {
+                block--;
+                if (block >= 0) {
+                    pos = sizes[block] - 1;
+                }
+                continue;
+            }
+            if (keys[block][pos] < fromKey) {
+                break;
+            }
+            out[count++] = ids[block][pos--];
+        }
+        return count;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Returns the smallest key in the index. The index must not be empty.
+     */
+    long firstKey() {
+        return keys[0][0];
+    }
+
+    /**
+     * Returns the largest key in the index. The index must not be empty.
+     */
+    long lastKey() {
+        return keys[blockCount - 1][sizes[blockCount - 1] - 1];
+    }
+
+    void clear() {
+        keys = new long[1][BLOCK_SIZE];
+        ids = new long[1][BLOCK_SIZE];
+        sizes = new int[1];
+        blockCount = 1;
+        size = 0;
+    }
+
+    /**
+     * Returns the last block whose first entry is not greater than the given pair, or block 0.
+     */
+    private int findBlock(long key, long id) {
+        int low = 1;
+        int high = blockCount - 1;
+        int result = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (compare(keys[mid][0], ids[mid][0], key, id) <= 0) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private int lowerBound(int block, long key, long id) {
+        long[] blockKeys = keys[block];
+        long[] blockIds = ids[block];
+        int low = 0;
+        int high = sizes[block];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(blockKeys[mid], blockIds[mid], key, id) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(int block, long key, long id) {
+        long[] blockKeys = keys[block];
+        long[] blockIds = ids[block];
+        int low = 0;
+        int high = sizes[block];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(blockKeys[mid], blockIds[mid], key, id) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void splitBlock(int block) {
+        if (blockCount == keys.length) {
+            keys = Arrays.copyOf(keys, blockCount * 2);
+            ids = Arrays.copyOf(ids, blockCount * 2);
+            sizes = Arrays.copyOf(sizes, blockCount * 2);
+        }
+        System.arraycopy(keys, block + 1, keys, block + 2, blockCount - block - 1);
+        System.arraycopy(ids, block + 1, ids, block + 2, blockCount - block - 1);
+        System.arraycopy(sizes, block + 1, sizes, block + 2, blockCount - block - 1);
+
+        int half = BLOCK_SIZE / 2;
+        long[] rightKeys = new long[BLOCK_SIZE];
+        long[] rightIds = new long[BLOCK_SIZE];
+        System.arraycopy(keys[block], half, rightKeys, 0, BLOCK_SIZE - half);
+        System.arraycopy(ids[block], half, rightIds, 0, BLOCK_SIZE - half);
+        keys[block + 1] = rightKeys;
+        ids[block + 1] = rightIds;
+        sizes[block + 1] = BLOCK_SIZE - half;
+        sizes[block] = half;
+        blockCount++;
+    }
+
+    /**
+     * Folds a block into a neighbour once both fit in half a block, so that
+     * mass deletes do not leave the index spread over mostly empty blocks.
+     */
+    private void mergeIfSparse(int block) {
+        int half = BLOCK_SIZE / 2;
+        if (sizes[block] == 0 && blockCount > 1) {
+            removeBlock(block);
+        } else if (block + 1 < blockCount && sizes[block] + sizes[block + 1] <= half) {
+            mergeWithNext(block);
+        } else if (block > 0 && sizes[block - 1] + sizes[block] <= half) {
+            mergeWithNext(block - 1);
+        }
+    }
+
+    private void mergeWithNext(int block) {
+        int n = sizes[block];
+        int m = sizes[block + 1];
+        System.arraycopy(keys[block + 1], 0, keys[block], n, m);
+        System.arraycopy(ids[block + 1], 0, ids[block], n, m);
+        sizes[block] = n + m;
+        removeBlock(block + 1);
+    }
+
+    private void removeBlock(int block) {
+        System.arraycopy(keys, block + 1, keys, block, blockCount - block - 1);
+        System.arraycopy(ids, block + 1, ids, block, blockCount - block - 1);
+        System.arraycopy(sizes, block + 1, sizes, block, blockCount - block - 1);
+        blockCount--;
+        keys[blockCount] = null;
+        ids[blockCount] = null;
+        sizes[blockCount] = 0;
+    }
+
+    private static int compare(long key1, long id1, long key2, long id2) {
+        int result = Long.compare(key1, key2);
+        return result != 0 ? result : Long.compare(id1, id2);
+    }
+}
@@ -0,0 +1,241 @@
+package com.ecommerce.productManagement.index;
+
+import com.ecommerce.productManagement.model.ProductStockView;
+import com.ecommerce.productManagement.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory secondary index over product price and quantity.
+ * It answers range and top-N queries with product ids, without touching the database.
+ * The index remembers the price and quantity each id is indexed under, so a change moves the id from
+ * wherever it actually is, whatever the caller read before saving. The index is loaded at startup and then
+ * kept up to date by {@code ProductService} and {@code RepricingService}. Every change carries the version
+ * of the product it was made at, so that a change applied after a newer one, such as a repriced value
+ * arriving after a user update, or after the deletion of the product, is recognized and ignored.
+ */
+@Component
+@Slf4j
+public class ProductIndex {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int MAX_TOMBSTONES = 100_000;
+
+    /**
+     * The price and quantity an id was indexed under.
+     */
+    public record Stock(double price, int quantity) {
+    }
+
+    /**
+     * Returned by {@link #put} for a change older than the one the index holds, which is ignored.
+     */
+    public static final Stock STALE = new Stock(Double.NaN, -1);
+
+    private final ProductRepository productRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Entries entries = new Entries();
+    private final VersionTable versions = new VersionTable(MAX_TOMBSTONES);
+
+    @Autowired
+    public ProductIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Loads the price and quantity of every stored product. Each batch is applied like a list of changes,
+     * so a product changed while the database is read keeps whichever values are the most recent.
+     */
+    @PostConstruct
+    public void load() {
+        long lastId = 0;
+        List<ProductStockView> batch;
+        do {
+            batch = productRepository.findStockAfter(lastId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (ProductStockView stock : batch) {
+                    if (versions.advance(stock.getId(), stock.getVersion())) {
+                        entries.remove(stock.getId());
+                        entries.put(stock.getId(), stock.getPrice(), stock.getQuantity());
+                    }
+                    lastId = stock.getId();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.debug("Product index loaded with {} entries", size());
+    }
+
+    /**
+     * Indexes a product under its new price and quantity, removing it from the ones it was indexed under.
+     * Nothing changes if the index already holds the product at the same or a later version.
+     *
+     * @param version the version of the product the price and quantity were saved with.
+     * @return the price and quantity the product was indexed under, null if it was not indexed,
+     * or {@link #STALE} if the change was ignored.
+     */
+    public Stock put(long id, double price, int quantity, long version) {
+        lock.writeLock().lock();
+        try {
+            if (!versions.advance(id, version)) {
+                return STALE;
+            }
+            Stock previous = entries.remove(id);
+            entries.put(id, price, quantity);
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops a deleted product from the index.
+     *
+     * @return the price and quantity the product was indexed under, or null if it was not indexed.
+     */
+    public Stock remove(long id) {
+        lock.writeLock().lock();
+        try {
+            versions.delete(id);
+            return entries.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of products priced between {@code minPrice} and {@code maxPrice}, both inclusive.
+     *
+     * @param descending true to return the most expensive products first, false for the cheapest first.
+     * @param limit      the maximum number of ids to return.
+     * @return the matching ids, ordered by price.
+     */
+    public long[] findByPriceRange(double minPrice, double maxPrice, int limit, boolean descending) {
+        long[] ids = new long[limit];
+        int count;
+        lock.readLock().lock();
+        try {
+            count = descending
+                    ? entries.priceIndex.scanDescending(encodePrice(minPrice), encodePrice(maxPrice), ids, limit)
+                    : entries.priceIndex.scanAscending(encodePrice(minPrice), encodePrice(maxPrice), ids, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count == limit ? ids : Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Finds the ids of products whose quantity is strictly below {@code threshold}, lowest stock first.
+     *
+     * @param limit the maximum number of ids to return.
+     * @return the matching ids, ordered by quantity.
+     */
+    public long[] findByQuantityBelow(int threshold, int limit) {
+        long[] ids = new long[limit];
+        int count;
+        lock.readLock().lock();
+        try {
+            count = entries.quantityIndex.scanAscending(Long.MIN_VALUE, (long) threshold - 1, ids, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return count == limit ? ids : Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Returns the number of indexed products.
+     */
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return entries.priceIndex.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the lowest indexed price, or {@link Double#NaN} if the index is empty.
+     */
+    public double minPrice() {
+        lock.readLock().lock();
+        try {
+            return entries.priceIndex.size() == 0 ? Double.NaN : decodePrice(entries.priceIndex.firstKey());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest indexed price, or {@link Double#NaN} if the index is empty.
+     */
+    public double maxPrice() {
+        lock.readLock().lock();
+        try {
+            return entries.priceIndex.size() == 0 ? Double.NaN : decodePrice(entries.priceIndex.lastKey());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Maps a double to a long whose signed order matches the numeric order of the double.
+     */
+    static long encodePrice(double price) {
+        long bits = Double.doubleToLongBits(price);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Reverses {@link #encodePrice(double)}.
+     */
+    static double decodePrice(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    /**
+     * The sorted indexes together with the price and quantity each id is stored under.
+     */
+    private static final class Entries {
+
+        private final PrimitiveSortedIndex priceIndex = new PrimitiveSortedIndex();
+        private final PrimitiveSortedIndex quantityIndex = new PrimitiveSortedIndex();
+        private final LongLongMap priceKeys = new LongLongMap();
+        private final LongLongMap quantities = new LongLongMap();
+
+        private Stock get(long id) {
+            if (!priceKeys.containsKey(id)) {
+                return null;
+            }
+            return new Stock(decodePrice(priceKeys.get(id, 0)), (int) quantities.get(id, 0));
+        }
+
+        private void put(long id, double price, int quantity) {
+            long priceKey = encodePrice(price);
+            priceIndex.insert(priceKey, id);
+            quantityIndex.insert(quantity, id);
+            priceKeys.put(id, priceKey);
+            quantities.put(id, quantity);
+        }
+
+        private Stock remove(long id) {
+            Stock previous = get(id);
+            if (previous != null) {
+                priceIndex.remove(priceKeys.get(id, 0), id);
+                quantityIndex.remove(previous.quantity(), id);
+                priceKeys.remove(id);
+                quantities.remove(id);
+            }
+            return previous;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.ecommerce.productManagement.index;
+
+import com.ecommerce.productManagement.model.ProductNameView;
+import com.ecommerce.productManagement.model.ProductSuggestion;
+import com.ecommerce.productManagement.model.SuggestionOrder;
+import com.ecommerce.productManagement.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix index over product names, answering autocomplete queries without touching the database.
+ * Names are matched from their first character, ignoring case. Each product carries a popularity
+ * equal to the number of times it was viewed: views are counted by id without locking and folded into
+ * the index periodically, so that reads never wait behind a stream of small updates.
+ * The index knows the name each id is stored under, so a rename moves the id from wherever it actually is.
+ * It is loaded at startup and then only updated incrementally by {@code ProductService}. Every change carries
+ * the version of the product it was made at, so that a rename arriving after a newer one, or after the
+ * deletion of the product, is recognized and ignored instead of leaving an outdated name behind.
+ */
+@Component
+@Slf4j
+public class ProductNameIndex {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final int MAX_TOMBSTONES = 100_000;
+
+    private final ProductRepository productRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+    private final PrefixTrie trie = new PrefixTrie();
+    private final VersionTable versions = new VersionTable(MAX_TOMBSTONES);
+
+    @Autowired
+    public ProductNameIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Loads the name of every stored product. Each batch is applied like a list of changes,
+     * so a product changed while the database is read keeps whichever name is the most recent.
+     */
+    @PostConstruct
+    public void load() {
+        long lastId = 0;
+        List<ProductNameView> batch;
+        do {
+            batch = productRepository.findNamesAfter(lastId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (ProductNameView product : batch) {
+                    apply(product.getId(), product.getName(), product.getVersion());
+                    lastId = product.getId();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.debug("Product name index loaded with {} entries", size());
+    }
+
+    /**
+     * Indexes the name of a created or renamed product. A renamed product keeps its popularity.
+     * Nothing changes if the index already holds the product at the same or a later version.
+     *
+     * @param version the version of the product the name was saved with.
+     */
+    public void put(long id, String name, long version) {
+        lock.writeLock().lock();
+        try {
+            apply(id, name, version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the name of a deleted product from the index.
+     */
+    public void remove(long id) {
+        pendingViews.remove(id);
+        lock.writeLock().lock();
+        try {
+            if (versions.delete(id)) {
+                trie.remove(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a view of a product towards its popularity. The count shows in suggestions after the next flush.
+     */
+    public void recordView(long id) {
+        pendingViews.computeIfAbsent(id, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Folds the views counted since the last flush into the index, under the current name of each product.
+     */
+    @Scheduled(fixedDelayString = "${product.suggest.popularity-flush-interval-ms:5000}")
+    public void flushViews() {
+        if (pendingViews.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Long id : pendingViews.keySet()) {
+                LongAdder views = pendingViews.remove(id);
+                if (views != null) {
+                    trie.addWeight(id, views.sum());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the products whose name starts with the given prefix, ignoring case.
+     *
+     * @param prefix the beginning of the name typed so far.
+     * @param limit  the maximum number of suggestions to return.
+     * @param order  how to rank the suggestions.
+     * @return the matching suggestions, best ranked first.
+     */
+    public List<ProductSuggestion> suggest(String prefix, int limit, SuggestionOrder order) {
+        List<ProductSuggestion> suggestions = new ArrayList<>(Math.min(limit, 64));
+        PrefixTrie.EntryConsumer consumer = (id, name, popularity) ->
+                suggestions.add(new ProductSuggestion(id, name, popularity));
+        String key = normalize(prefix);
+        lock.readLock().lock();
+        try {
+            if (order == SuggestionOrder.ALPHABETICAL) {
+                trie.collectInKeyOrder(key, limit, consumer);
+            } else {
+                trie.collectByWeight(key, limit, consumer);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return suggestions;
+    }
+
+    /**
+     * Returns the number of indexed products.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return trie.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(long id, String name, long version) {
+        if (versions.advance(id, version) && !name.equals(trie.name(id))) {
+            long popularity = trie.remove(id);
+            trie.insert(normalize(name), id, name, Math.max(popularity, 0));
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.productManagement.index;
+
+/**
+ * Latest version applied for each product id, so that an index can recognize and ignore the changes
+ * it receives out of order. A deleted id is remembered as a tombstone, since a change made before the
+ * deletion may still arrive after it. Only the most recent tombstones are kept: a stale change trails
+ * the deletion by the time it takes to be delivered, not by thousands of deletions.
+ * This class is not thread-safe, callers are expected to guard it with a lock.
+ */
+class VersionTable {
+
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final LongLongMap versions = new LongLongMap();
+    private final long[] tombstones;
+    private int tombstoneCount;
+    private int nextTombstone;
+
+    /**
+     * @param maxTombstones the number of deleted ids to remember.
+     */
+    VersionTable(int maxTombstones) {
+        this.tombstones = new long[maxTombstones];
+    }
+
+    /**
+     * Records the version of a change if it is newer than the last one recorded for the id.
+     *
+     * @return true if the change is newer and should be applied, false if it is stale or the id was deleted.
+     */
+    boolean advance(long id, long version) {
+        if (versions.get(id, -1) >= version) {
+            return false;
+        }
+        versions.put(id, version);
+        return true;
+    }
+
+    /**
+     * Records the deletion of an id, after which every change of the id is stale.
+     *
+     * @return true if the id was not deleted yet.
+     */
+    boolean delete(long id) {
+        if (versions.get(id, -1) == DELETED) {
+            return false;
+        }
+        versions.put(id, DELETED);
+        if (tombstoneCount == tombstones.length) {
+            versions.remove(tombstones[nextTombstone]);
+        } else {
+            tombstoneCount++;
+        }
+        tombstones[nextTombstone] = id;
+        nextTombstone = (nextTombstone + 1) % tombstones.length;
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.productManagement.model;
+
+/**
+ * The kind of product access counted by the hot product tracker.
+ */
+public enum AccessType {
+
+    /** Products read by id. */
+    READ,
+
+    /** Products created, updated or deleted. */
+    WRITE
+}
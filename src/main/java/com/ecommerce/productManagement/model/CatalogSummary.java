@@ -0,0 +1,35 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.CATALOG_SUMMARY_REPRESENT)
+public class CatalogSummary {
+
+    @Schema(description = ProductManagementConstants.SKU_COUNT_DESCRIPTION, example = "120")
+    private long skuCount;
+
+    @Schema(description = ProductManagementConstants.OUT_OF_STOCK_COUNT_DESCRIPTION, example = "3")
+    private long outOfStockCount;
+
+    @Schema(description = ProductManagementConstants.TOTAL_QUANTITY_DESCRIPTION, example = "4500")
+    private long totalQuantity;
+
+    @Schema(description = ProductManagementConstants.TOTAL_STOCK_VALUE_DESCRIPTION, example = "1250000.00")
+    private double totalStockValue;
+
+    @Schema(description = ProductManagementConstants.MIN_PRICE_DESCRIPTION, example = "10.00")
+    private Double minPrice;
+
+    @Schema(description = ProductManagementConstants.MAX_PRICE_DESCRIPTION, example = "99000.00")
+    private Double maxPrice;
+
+    @Schema(description = ProductManagementConstants.AVERAGE_PRICE_DESCRIPTION, example = "2500.00")
+    private Double averagePrice;
+}
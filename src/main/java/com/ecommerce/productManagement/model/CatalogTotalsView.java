@@ -0,0 +1,18 @@
+package com.ecommerce.productManagement.model;
+
+/**
+ * Projection of the totals computed by the database over a range of {@link Product} rows.
+ * Sums are null when the range holds no product.
+ */
+public interface CatalogTotalsView {
+
+    long getSkuCount();
+
+    Long getOutOfStockCount();
+
+    Long getTotalQuantity();
+
+    Double getTotalStockValue();
+
+    Double getPriceSum();
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.HOT_PRODUCT_REPRESENT)
+public class HotProduct {
+
+    @Schema(description = ProductManagementConstants.PRODUCT_UNIQUE_IDENTIFIER, example = "1")
+    private Long id;
+
+    @Schema(description = ProductManagementConstants.ACCESS_RATE_DESCRIPTION, example = "12.5")
+    private double rate;
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.productManagement.model;
+
+/**
+ * How a {@link RepricingRule} changes the price of the products it matches.
+ */
+public enum PriceAdjustment {
+
+    /** Adds the given percentage of the current price, a negative value lowers the price. */
+    PERCENT,
+
+    /** Adds the given amount to the current price, a negative value lowers the price. */
+    AMOUNT,
+
+    /** Replaces the current price by the given value. */
+    SET
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.PRICE_BUCKET_REPRESENT)
+public class PriceBucket {
+
+    @Schema(description = ProductManagementConstants.BUCKET_START_DESCRIPTION, example = "2024-05-01T10:00:00Z")
+    private Instant bucketStart;
+
+    @Schema(description = ProductManagementConstants.OPEN_PRICE_DESCRIPTION, example = "100.00")
+    private double open;
+
+    @Schema(description = ProductManagementConstants.HIGH_PRICE_DESCRIPTION, example = "120.00")
+    private double high;
+
+    @Schema(description = ProductManagementConstants.LOW_PRICE_DESCRIPTION, example = "95.00")
+    private double low;
+
+    @Schema(description = ProductManagementConstants.CLOSE_PRICE_DESCRIPTION, example = "110.00")
+    private double close;
+
+    @Schema(description = ProductManagementConstants.CLOSE_QUANTITY_DESCRIPTION, example = "10")
+    private int quantity;
+
+    @Schema(description = ProductManagementConstants.CHANGE_COUNT_DESCRIPTION, example = "4")
+    private int changes;
+}
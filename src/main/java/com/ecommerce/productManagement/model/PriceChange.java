@@ -0,0 +1,13 @@
+package com.ecommerce.productManagement.model;
+
+/**
+ * Price change applied to one product by a set-based update.
+ *
+ * @param id       the id of the product.
+ * @param oldPrice the price before the change.
+ * @param newPrice the price after the change.
+ * @param quantity the quantity of the product, unchanged.
+ * @param version  the version of the product after the change.
+ */
+public record PriceChange(long id, double oldPrice, double newPrice, int quantity, long version) {
+}
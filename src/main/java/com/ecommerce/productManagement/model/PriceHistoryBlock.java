@@ -0,0 +1,61 @@
+package com.ecommerce.productManagement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A block of consecutive price and quantity changes of one product.
+ * The changes are stored delta and varint encoded in {@code data}, so a block of up to
+ * {@code PriceHistoryCodec.POINTS_PER_BLOCK} changes takes a single row. The last change is
+ * also kept in plain columns, so that appending does not need to decode the block.
+ * Changes buffered by several instances may be appended slightly out of time order, so the
+ * earliest and latest times, which range queries rely on, are kept apart from the first and
+ * last appended ones, which the encoding relies on.
+ */
+@Entity
+@Table(indexes = @Index(columnList = "productId, startTime"))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceHistoryBlock {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long productId;
+
+    /** Time of the earliest change, in epoch milliseconds. */
+    private long startTime;
+
+    /** Time of the latest change, in epoch milliseconds. */
+    private long endTime;
+
+    /** Time of the first change appended, from which the block is decoded. */
+    private long firstTime;
+
+    /** Time of the last change appended, from which the next one is encoded. */
+    private long lastTime;
+
+    private int pointCount;
+
+    /** Price of the last change, in fixed point. */
+    private long lastPrice;
+
+    private int lastQuantity;
+
+    @Column(length = 4096)
+    private byte[] data;
+
+    @Version
+    private long version;
+}
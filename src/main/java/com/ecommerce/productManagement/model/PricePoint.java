@@ -0,0 +1,25 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.PRICE_POINT_REPRESENT)
+public class PricePoint {
+
+    @Schema(description = ProductManagementConstants.CHANGE_TIME_DESCRIPTION, example = "2024-05-01T10:15:30Z")
+    private Instant timestamp;
+
+    @Schema(description = ProductManagementConstants.PRODUCT_PRICE_DESCRIPTION, example = "10000.00")
+    private double price;
+
+    @Schema(description = ProductManagementConstants.PRODUCT_QUANTITY_DESCRIPTION, example = "10")
+    private int quantity;
+}
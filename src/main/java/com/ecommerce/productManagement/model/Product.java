@@ -1,11 +1,13 @@
 package com.ecommerce.productManagement.model;
 
 import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
@@ -37,4 +39,16 @@ public class Product {
     @Positive(message = ProductManagementConstants.QUANTITY_MUST_BE_POSITIVE)
     @Schema(description = ProductManagementConstants.PRODUCT_QUANTITY_DESCRIPTION, example = "10")
     private int quantity;
+
+    /**
+     * Incremented by every update, so that concurrent updates are detected and changes applied
+     * out of order to the in-memory indexes are recognized.
+     */
+    @Version
+    @JsonIgnore
+    private long version;
+
+    public Product(Long id, String name, double price, String description, int quantity) {
+        this(id, name, price, description, quantity, 0);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.ecommerce.productManagement.model;
+
+/**
+ * Projection of a {@link Product} holding only its id, name and version, used to build the name index.
+ */
+public interface ProductNameView {
+
+    Long getId();
+
+    String getName();
+
+    long getVersion();
+}
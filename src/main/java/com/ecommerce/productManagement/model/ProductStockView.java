@@ -0,0 +1,15 @@
+package com.ecommerce.productManagement.model;
+
+/**
+ * Projection of a {@link Product} holding only the fields needed for pricing and stock figures.
+ */
+public interface ProductStockView {
+
+    Long getId();
+
+    double getPrice();
+
+    int getQuantity();
+
+    long getVersion();
+}
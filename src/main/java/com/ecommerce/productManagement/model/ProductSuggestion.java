@@ -0,0 +1,23 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.PRODUCT_SUGGESTION_REPRESENT)
+public class ProductSuggestion {
+
+    @Schema(description = ProductManagementConstants.PRODUCT_UNIQUE_IDENTIFIER, example = "1")
+    private Long id;
+
+    @Schema(description = ProductManagementConstants.PRODUCT_NAME_DESCRIPTION, example = "Mobile")
+    private String name;
+
+    @Schema(description = ProductManagementConstants.POPULARITY_DESCRIPTION, example = "42")
+    private long popularity;
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.RECORDING_REPRESENT)
+public class RecordingInfo {
+
+    @Schema(description = ProductManagementConstants.RECORDING_ID_DESCRIPTION, example = "1")
+    private long id;
+
+    @Schema(description = ProductManagementConstants.RECORDING_PROFILE_DESCRIPTION, example = "default")
+    private String profile;
+
+    @Schema(description = ProductManagementConstants.RECORDING_STATE_DESCRIPTION, example = "RUNNING")
+    private String state;
+
+    @Schema(description = ProductManagementConstants.RECORDING_START_DESCRIPTION, example = "2024-05-01T10:15:30Z")
+    private Instant startTime;
+
+    @Schema(description = ProductManagementConstants.RECORDING_STOP_DESCRIPTION, example = "2024-05-01T10:45:30Z")
+    private Instant stopTime;
+
+    @Schema(description = ProductManagementConstants.RECORDING_SIZE_DESCRIPTION, example = "1048576")
+    private long size;
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.productManagement.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marks one chunk of a {@link RepricingJob} as applied. It is written in the same transaction
+ * as the price update of the chunk, so a resumed job never applies a chunk twice.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"jobId", "chunkIndex"}))
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RepricingChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long jobId;
+
+    private int chunkIndex;
+
+    private int updatedRows;
+}
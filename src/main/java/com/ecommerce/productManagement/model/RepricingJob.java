@@ -0,0 +1,70 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.REPRICING_JOB_REPRESENT)
+public class RepricingJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = ProductManagementConstants.REPRICING_JOB_ID_DESCRIPTION, example = "1")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Schema(description = ProductManagementConstants.REPRICING_STATUS_DESCRIPTION, example = "RUNNING")
+    private RepricingStatus status;
+
+    @JsonRawValue
+    @Column(length = ProductManagementConstants.MAX_RULES_LENGTH)
+    @Schema(description = ProductManagementConstants.RULES_DESCRIPTION)
+    private String rules;
+
+    @Schema(description = ProductManagementConstants.REPRICING_ID_RANGE_DESCRIPTION, example = "1")
+    private long minId;
+
+    @Schema(description = ProductManagementConstants.REPRICING_ID_RANGE_DESCRIPTION, example = "100000")
+    private long maxId;
+
+    @Schema(description = ProductManagementConstants.CHUNK_SIZE_DESCRIPTION, example = "10000")
+    private long chunkSize;
+
+    @Schema(description = ProductManagementConstants.TOTAL_CHUNKS_DESCRIPTION, example = "10")
+    private int totalChunks;
+
+    @Schema(description = ProductManagementConstants.COMPLETED_CHUNKS_DESCRIPTION, example = "4")
+    private int completedChunks;
+
+    @Schema(description = ProductManagementConstants.MATCHED_ROWS_DESCRIPTION, example = "35000")
+    private long matchedRows;
+
+    @Schema(description = ProductManagementConstants.UPDATED_ROWS_DESCRIPTION, example = "14000")
+    private long updatedRows;
+
+    @Schema(description = ProductManagementConstants.SKIPPED_ROWS_DESCRIPTION, example = "12")
+    private long skippedRows;
+
+    @Schema(description = ProductManagementConstants.FAILURE_MESSAGE_DESCRIPTION)
+    private String failureMessage;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+}
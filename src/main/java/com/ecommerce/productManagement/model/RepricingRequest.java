@@ -0,0 +1,28 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.REPRICING_REQUEST_REPRESENT)
+public class RepricingRequest {
+
+    @Valid
+    @NotEmpty(message = ProductManagementConstants.RULES_REQUIRED)
+    @Size(max = ProductManagementConstants.MAX_REPRICING_RULES, message = ProductManagementConstants.TOO_MANY_RULES)
+    @Schema(description = ProductManagementConstants.RULES_DESCRIPTION)
+    private List<RepricingRule> rules;
+
+    @Schema(description = ProductManagementConstants.DRY_RUN_DESCRIPTION, example = "false")
+    private boolean dryRun;
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.productManagement.model;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = ProductManagementConstants.REPRICING_RULE_REPRESENT)
+public class RepricingRule {
+
+    @Schema(description = ProductManagementConstants.RULE_MIN_PRICE_DESCRIPTION, example = "0")
+    private Double minPrice;
+
+    @Schema(description = ProductManagementConstants.RULE_MAX_PRICE_DESCRIPTION, example = "1000")
+    private Double maxPrice;
+
+    @NotNull(message = ProductManagementConstants.ADJUSTMENT_REQUIRED)
+    @Schema(description = ProductManagementConstants.RULE_ADJUSTMENT_DESCRIPTION, example = "PERCENT")
+    private PriceAdjustment adjustment;
+
+    @Schema(description = ProductManagementConstants.RULE_VALUE_DESCRIPTION, example = "5")
+    private double value;
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.productManagement.model;
+
+/**
+ * Lifecycle of a {@link RepricingJob}.
+ */
+public enum RepricingStatus {
+    DRY_RUN,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.productManagement.model;
+
+/**
+ * How autocomplete suggestions are ranked.
+ */
+public enum SuggestionOrder {
+
+    /** Most viewed products first. */
+    POPULARITY,
+
+    /** Names in alphabetical order, ignoring case. */
+    ALPHABETICAL
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.productManagement.repository;
+
+import com.ecommerce.productManagement.model.PriceHistoryBlock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PriceHistoryBlockRepository extends JpaRepository<PriceHistoryBlock, Long> {
+
+    /**
+     * Finds the latest block of the product that still has room for more points.
+     */
+    Optional<PriceHistoryBlock> findFirstByProductIdAndPointCountLessThanOrderByStartTimeDesc(Long productId,
+                                                                                             int pointsPerBlock);
+
+    /**
+     * Finds the blocks of the given products that still have room for more points, oldest first.
+     */
+    @Query("select b from PriceHistoryBlock b where b.productId in :productIds and b.pointCount < :pointsPerBlock "
+            + "order by b.startTime")
+    List<PriceHistoryBlock> findOpenBlocks(@Param("productIds") Collection<Long> productIds,
+                                           @Param("pointsPerBlock") int pointsPerBlock);
+
+    /**
+     * Finds, in time order, the blocks of the product holding points between {@code from} and {@code to}.
+     */
+    @Query("select b from PriceHistoryBlock b where b.productId = :productId "
+            + "and b.startTime <= :to and b.endTime >= :from order by b.startTime")
+    List<PriceHistoryBlock> findBlocksInRange(@Param("productId") Long productId,
+                                              @Param("from") long from, @Param("to") long to);
+}
@@ -1,7 +1,52 @@
 package com.ecommerce.productManagement.repository;
 
+import com.ecommerce.productManagement.model.CatalogTotalsView;
 import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.ProductNameView;
+import com.ecommerce.productManagement.model.ProductStockView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
-}
\ No newline at end of file
+
+    String SUM_TOTALS = "select count(p) as skuCount, sum(case when p.quantity <= 0 then 1 else 0 end) as outOfStockCount, "
+            + "sum(p.quantity) as totalQuantity, sum(p.price * p.quantity) as totalStockValue, sum(p.price) as priceSum "
+            + "from Product p where p.id between :fromId and :toId";
+
+    /**
+     * Reads id, price, quantity and version of the products whose id is greater than {@code afterId},
+     * in id order, so that the whole catalog can be walked in batches without loading descriptions.
+     */
+    @Query("select p.id as id, p.price as price, p.quantity as quantity, p.version as version from Product p where p.id > :afterId order by p.id")
+    List<ProductStockView> findStockAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Reads id, name and version of the products whose id is greater than {@code afterId}, in id order.
+     */
+    @Query("select p.id as id, p.name as name, p.version as version from Product p where p.id > :afterId order by p.id")
+    List<ProductNameView> findNamesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Computes the catalog totals over the products whose id lies in [fromId, toId].
+     */
+    @Query(SUM_TOTALS)
+    CatalogTotalsView sumTotalsBetween(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Computes the catalog totals over the products whose id lies in [fromId, toId], leaving out the given ids.
+     */
+    @Query(SUM_TOTALS + " and p.id not in :excludedIds")
+    CatalogTotalsView sumTotalsBetweenExcluding(@Param("fromId") long fromId, @Param("toId") long toId,
+                                                @Param("excludedIds") Collection<Long> excludedIds);
+
+    @Query("select min(p.id) from Product p")
+    Long findMinId();
+
+    @Query("select max(p.id) from Product p")
+    Long findMaxId();
+}
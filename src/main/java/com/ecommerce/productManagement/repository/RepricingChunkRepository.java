@@ -0,0 +1,14 @@
+package com.ecommerce.productManagement.repository;
+
+import com.ecommerce.productManagement.model.RepricingChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface RepricingChunkRepository extends JpaRepository<RepricingChunk, Long> {
+
+    @Query("select c.chunkIndex from RepricingChunk c where c.jobId = :jobId")
+    List<Integer> findChunkIndexes(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.productManagement.repository;
+
+import com.ecommerce.productManagement.model.RepricingJob;
+import com.ecommerce.productManagement.model.RepricingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+public interface RepricingJobRepository extends JpaRepository<RepricingJob, Long> {
+
+    /**
+     * Records one more applied chunk. Runs inside the chunk transaction, so that
+     * progress stays exact while chunks complete concurrently.
+     */
+    @Transactional
+    @Modifying
+    @Query("update RepricingJob j set j.completedChunks = j.completedChunks + 1, "
+            + "j.updatedRows = j.updatedRows + :updatedRows, j.skippedRows = j.skippedRows + :skippedRows "
+            + "where j.id = :jobId")
+    int recordChunk(@Param("jobId") Long jobId, @Param("updatedRows") long updatedRows,
+                    @Param("skippedRows") long skippedRows);
+
+    /**
+     * Changes the status of a job without overwriting the progress recorded by its chunks.
+     */
+    @Transactional
+    @Modifying
+    @Query("update RepricingJob j set j.status = :status, j.failureMessage = :failureMessage, "
+            + "j.finishedAt = :finishedAt where j.id = :jobId")
+    int updateStatus(@Param("jobId") Long jobId, @Param("status") RepricingStatus status,
+                     @Param("failureMessage") String failureMessage, @Param("finishedAt") Instant finishedAt);
+}
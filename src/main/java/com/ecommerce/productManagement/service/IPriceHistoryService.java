@@ -0,0 +1,36 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.model.PriceBucket;
+import com.ecommerce.productManagement.model.PricePoint;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Interface for Price History Service, providing methods to query the price and quantity changes of products.
+ */
+public interface IPriceHistoryService {
+
+    /**
+     * Retrieves every change of a product between two instants, both inclusive.
+     *
+     * @param productId the unique identifier of the product.
+     * @param from      the start of the period.
+     * @param to        the end of the period.
+     * @return the changes in time order.
+     */
+    public List<PricePoint> getPriceHistory(Long productId, Instant from, Instant to);
+
+    /**
+     * Retrieves the changes of a product between two instants grouped into buckets of a fixed duration.
+     * Buckets without any change are left out.
+     *
+     * @param productId the unique identifier of the product.
+     * @param from      the start of the period, also the start of the first bucket.
+     * @param to        the end of the period.
+     * @param bucket    the duration of a bucket.
+     * @return the buckets in time order.
+     */
+    public List<PriceBucket> getDownsampledPriceHistory(Long productId, Instant from, Instant to, Duration bucket);
+}
@@ -1,6 +1,12 @@
 package com.ecommerce.productManagement.service;
 
+import com.ecommerce.productManagement.cache.EncodedProduct;
+import com.ecommerce.productManagement.model.AccessType;
+import com.ecommerce.productManagement.model.CatalogSummary;
+import com.ecommerce.productManagement.model.HotProduct;
 import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.ProductSuggestion;
+import com.ecommerce.productManagement.model.SuggestionOrder;
 
 import java.util.List;
 import java.util.Optional;
@@ -18,6 +24,14 @@ public interface IProductService {
      */
     public Optional<Product> getProductById(Long id);
 
+    /**
+     * Retrieves a product by its unique identifier, already serialized as a response body.
+     *
+     * @param id the unique identifier of the product.
+     * @return an Optional containing the encoded product if found, or an empty Optional if not.
+     */
+    public Optional<EncodedProduct> getEncodedProductById(Long id);
+
     /**
      * Retrieves all products from database.
      *
@@ -49,4 +63,50 @@ public interface IProductService {
      * @return true if the product was successfully deleted, false otherwise.
      */
     public boolean deleteProduct(Long id);
+
+    /**
+     * Retrieves products priced within the given range, ordered by price.
+     *
+     * @param minPrice   the lowest price to include.
+     * @param maxPrice   the highest price to include.
+     * @param limit      the maximum number of products to return.
+     * @param descending true to return the most expensive products first, false for the cheapest first.
+     * @return a list of matching products.
+     */
+    public List<Product> getProductsByPriceRange(double minPrice, double maxPrice, int limit, boolean descending);
+
+    /**
+     * Retrieves products whose quantity is below the given threshold, lowest stock first.
+     *
+     * @param threshold the quantity products must be below.
+     * @param limit     the maximum number of products to return.
+     * @return a list of matching products.
+     */
+    public List<Product> getProductsWithQuantityBelow(int threshold, int limit);
+
+    /**
+     * Retrieves the catalog wide figures: SKU count, out of stock count, stock value and price statistics.
+     *
+     * @return the current catalog summary.
+     */
+    public CatalogSummary getCatalogSummary();
+
+    /**
+     * Suggests products whose name starts with the given prefix, ignoring case.
+     *
+     * @param prefix the beginning of the name typed so far.
+     * @param limit  the maximum number of suggestions to return.
+     * @param order  how to rank the suggestions.
+     * @return a list of suggestions, best ranked first.
+     */
+    public List<ProductSuggestion> getSuggestions(String prefix, int limit, SuggestionOrder order);
+
+    /**
+     * Retrieves the most accessed products with their estimated access rate.
+     *
+     * @param type  the kind of access to rank the products by.
+     * @param limit the maximum number of products to return.
+     * @return a list of hot products, highest access rate first.
+     */
+    public List<HotProduct> getHotProducts(AccessType type, int limit);
 }
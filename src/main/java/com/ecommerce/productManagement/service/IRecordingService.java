@@ -0,0 +1,42 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.model.RecordingInfo;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Interface for Recording Service, providing methods to drive a Java Flight Recorder recording on demand.
+ */
+public interface IRecordingService {
+
+    /**
+     * Starts a recording with the given flight recorder configuration, keeping only the most recent events.
+     *
+     * @param profile the name of the configuration, such as {@code default} or {@code profile}.
+     * @param maxAge  how long recorded events are kept.
+     * @return the started recording.
+     */
+    public RecordingInfo startRecording(String profile, Duration maxAge);
+
+    /**
+     * Stops the running recording. Its events stay available for a dump until the next start.
+     *
+     * @return the stopped recording.
+     */
+    public RecordingInfo stopRecording();
+
+    /**
+     * Retrieves the last started recording.
+     *
+     * @return the recording, running or stopped.
+     */
+    public RecordingInfo getRecording();
+
+    /**
+     * Writes the events of the last started recording to a new temporary file.
+     *
+     * @return the path of the file, to be deleted by the caller.
+     */
+    public Path dumpRecording();
+}
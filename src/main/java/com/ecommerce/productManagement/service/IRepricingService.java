@@ -0,0 +1,34 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.model.RepricingJob;
+import com.ecommerce.productManagement.model.RepricingRequest;
+
+/**
+ * Interface for Repricing Service, providing methods to reprice many products at once.
+ */
+public interface IRepricingService {
+
+    /**
+     * Starts repricing every product matched by the rules, or only counts them for a dry run.
+     *
+     * @param request the repricing rules and the dry run flag.
+     * @return the started job, or an unsaved job holding the matched count for a dry run.
+     */
+    public RepricingJob startRepricing(RepricingRequest request);
+
+    /**
+     * Retrieves a repricing job with its progress.
+     *
+     * @param id the unique identifier of the repricing job.
+     * @return the repricing job.
+     */
+    public RepricingJob getRepricingJob(Long id);
+
+    /**
+     * Resumes a failed or interrupted repricing job, applying only the chunks not applied yet.
+     *
+     * @param id the unique identifier of the repricing job.
+     * @return the resumed repricing job.
+     */
+    public RepricingJob resumeRepricing(Long id);
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.model.PriceHistoryBlock;
+
+import java.util.Arrays;
+
+/**
+ * Encoding of price history points into a {@link PriceHistoryBlock}.
+ * Each point is stored as three deltas from the previous point of the block: time in milliseconds,
+ * price in fixed point with four decimals, and quantity. Deltas are zigzag encoded so that small
+ * negative values stay small, then written as varints of 7 bits per byte. A typical change takes
+ * 4 to 8 bytes instead of a row of its own.
+ */
+final class PriceHistoryCodec {
+
+    static final int POINTS_PER_BLOCK = 128;
+    static final long PRICE_SCALE = 10_000;
+
+    private static final int MAX_POINT_BYTES = 3 * 10;
+
+    private PriceHistoryCodec() {
+    }
+
+    /**
+     * Receives the points decoded from a block.
+     */
+    interface PointConsumer {
+        void accept(long time, double price, int quantity);
+    }
+
+    /**
+     * Creates an empty block whose first point will be appended at the given time.
+     */
+    static PriceHistoryBlock newBlock(Long productId, long time) {
+        PriceHistoryBlock block = new PriceHistoryBlock();
+        block.setProductId(productId);
+        block.setStartTime(time);
+        block.setEndTime(time);
+        block.setFirstTime(time);
+        block.setLastTime(time);
+        block.setData(new byte[0]);
+        return block;
+    }
+
+    static boolean isFull(PriceHistoryBlock block) {
+        return block.getPointCount() >= POINTS_PER_BLOCK;
+    }
+
+    static void append(PriceHistoryBlock block, long time, double price, int quantity) {
+        long fixedPrice = Math.round(price * PRICE_SCALE);
+        byte[] point = new byte[MAX_POINT_BYTES];
+        int length = writeVarLong(point, 0, zigzag(time - block.getLastTime()));
+        length = writeVarLong(point, length, zigzag(fixedPrice - block.getLastPrice()));
+        length = writeVarLong(point, length, zigzag((long) quantity - block.getLastQuantity()));
+
+        byte[] data = Arrays.copyOf(block.getData(), block.getData().length + length);
+        System.arraycopy(point, 0, data, block.getData().length, length);
+        block.setData(data);
+        block.setStartTime(Math.min(block.getStartTime(), time));
+        block.setEndTime(Math.max(block.getEndTime(), time));
+        block.setLastTime(time);
+        block.setLastPrice(fixedPrice);
+        block.setLastQuantity(quantity);
+        block.setPointCount(block.getPointCount() + 1);
+    }
+
+    static void decode(PriceHistoryBlock block, PointConsumer consumer) {
+        byte[] data = block.getData();
+        int[] position = {0};
+        long time = block.getFirstTime();
+        long fixedPrice = 0;
+        long quantity = 0;
+        for (int i = 0; i < block.getPointCount(); i++) {
+            time += unzigzag(readVarLong(data, position));
+            fixedPrice += unzigzag(readVarLong(data, position));
+            quantity += unzigzag(readVarLong(data, position));
+            consumer.accept(time, fixedPrice / (double) PRICE_SCALE, (int) quantity);
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int writeVarLong(byte[] buffer, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[offset++] = (byte) value;
+        return offset;
+    }
+
+    private static long readVarLong(byte[] buffer, int[] position) {
+        long value = 0;
+        int shift = 0;
+        byte current;
+        do {
+            current = buffer[position[0]++];
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+        return value;
+    }
+}
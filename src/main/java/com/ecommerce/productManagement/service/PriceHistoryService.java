@@ -0,0 +1,260 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.model.PriceBucket;
+import com.ecommerce.productManagement.model.PriceChange;
+import com.ecommerce.productManagement.model.PriceHistoryBlock;
+import com.ecommerce.productManagement.model.PricePoint;
+import com.ecommerce.productManagement.repository.PriceHistoryBlockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class keeping the append-only history of product price and quantity changes.
+ * Changes are appended to compact {@link PriceHistoryBlock} rows, see {@link PriceHistoryCodec}.
+ * Since a block is rewritten whole on every append, changes are first buffered in memory and
+ * appended together by a periodic flush, so that a block holding up to 128 points is rewritten
+ * once per flush instead of once per change. Reads include the buffered changes.
+ * Recording is best effort: a failed flush is logged rather than reported as a failure of the
+ * product change, and its changes are put back in the buffer for the next flush. The buffer is
+ * flushed on shutdown, only a crash loses the changes buffered since the last flush.
+ * Reads return the points in time order, even when instances appended them slightly out of order.
+ */
+@Service
+@Slf4j
+public class PriceHistoryService implements IPriceHistoryService {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int FLUSH_BATCH_SIZE = 1000;
+
+    private final PriceHistoryBlockRepository priceHistoryBlockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, List<BufferedPoint>> buffered = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PriceHistoryService(PriceHistoryBlockRepository priceHistoryBlockRepository,
+                               TransactionTemplate transactionTemplate) {
+        this.priceHistoryBlockRepository = priceHistoryBlockRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Buffers the current price and quantity of a product, to be appended to its history by the next flush.
+     *
+     * @param productId the unique identifier of the product.
+     * @param price     the price after the change.
+     * @param quantity  the quantity after the change.
+     */
+    public void record(Long productId, double price, int quantity) {
+        BufferedPoint point = new BufferedPoint(System.currentTimeMillis(), price, quantity);
+        buffered.compute(productId, (id, points) -> {
+            List<BufferedPoint> list = points == null ? new ArrayList<>() : points;
+            list.add(point);
+            return list;
+        });
+    }
+
+    /**
+     * Appends the new prices of many products at once, reading and writing their blocks in bulk
+     * together with the changes of these products still buffered.
+     *
+     * @param changes the price changes applied by a set-based update.
+     */
+    public synchronized void recordAll(List<PriceChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        long time = System.currentTimeMillis();
+        Map<Long, List<BufferedPoint>> points = new HashMap<>();
+        for (PriceChange change : changes) {
+            points.computeIfAbsent(change.id(), this::drain)
+                    .add(new BufferedPoint(time, change.newPrice(), change.quantity()));
+        }
+        if (!append(points)) {
+            requeue(points);
+        }
+    }
+
+    /**
+     * Appends the buffered changes to the history, a batch of products at a time, also on shutdown.
+     * The flush stops at the first batch that cannot be appended, which goes back to the buffer.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${price-history.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, List<BufferedPoint>> batch = new HashMap<>();
+        for (Long productId : buffered.keySet()) {
+            List<BufferedPoint> points = buffered.remove(productId);
+            if (points != null) {
+                batch.put(productId, points);
+            }
+            if (batch.size() == FLUSH_BATCH_SIZE) {
+                if (!append(batch)) {
+                    requeue(batch);
+                    return;
+                }
+                batch = new HashMap<>();
+            }
+        }
+        if (!batch.isEmpty() && !append(batch)) {
+            requeue(batch);
+        }
+    }
+
+    /**
+     * Retrieves every change of a product between two instants, both inclusive.
+     *
+     * @param productId the unique identifier of the product.
+     * @param from      the start of the period.
+     * @param to        the end of the period.
+     * @return a {@link List} of {@link PricePoint} in time order.
+     */
+    public List<PricePoint> getPriceHistory(Long productId, Instant from, Instant to) {
+        List<PricePoint> points = new ArrayList<>();
+        forEachPoint(productId, from, to, (time, price, quantity) ->
+                points.add(new PricePoint(Instant.ofEpochMilli(time), price, quantity)));
+        return points;
+    }
+
+    /**
+     * Retrieves the changes of a product between two instants grouped into buckets of a fixed duration.
+     *
+     * @param productId the unique identifier of the product.
+     * @param from      the start of the period, also the start of the first bucket.
+     * @param to        the end of the period.
+     * @param bucket    the duration of a bucket.
+     * @return a {@link List} of {@link PriceBucket} in time order, without empty buckets.
+     */
+    public List<PriceBucket> getDownsampledPriceHistory(Long productId, Instant from, Instant to, Duration bucket) {
+        long start = from.toEpochMilli();
+        long bucketMillis = bucket.toMillis();
+        List<PriceBucket> buckets = new ArrayList<>();
+        forEachPoint(productId, from, to, (time, price, quantity) -> {
+            long bucketStart = start + (time - start) / bucketMillis * bucketMillis;
+            PriceBucket current = buckets.isEmpty() ? null : buckets.get(buckets.size() - 1);
+            if (current == null || current.getBucketStart().toEpochMilli() != bucketStart) {
+                buckets.add(new PriceBucket(Instant.ofEpochMilli(bucketStart), price, price, price, price, quantity, 1));
+            } else {
+                current.setHigh(Math.max(current.getHigh(), price));
+                current.setLow(Math.min(current.getLow(), price));
+                current.setClose(price);
+                current.setQuantity(quantity);
+                current.setChanges(current.getChanges() + 1);
+            }
+        });
+        return buckets;
+    }
+
+    /**
+     * Visits the stored and buffered points of a product in time order. A read racing with a flush may
+     * briefly miss the points being written.
+     */
+    private void forEachPoint(Long productId, Instant from, Instant to, PriceHistoryCodec.PointConsumer consumer) {
+        long start = from.toEpochMilli();
+        long end = to.toEpochMilli();
+        List<BufferedPoint> points = new ArrayList<>();
+        PriceHistoryCodec.PointConsumer inRange = (time, price, quantity) -> {
+            if (time >= start && time <= end) {
+                points.add(new BufferedPoint(time, price, quantity));
+            }
+        };
+        for (PriceHistoryBlock block : priceHistoryBlockRepository.findBlocksInRange(productId, start, end)) {
+            PriceHistoryCodec.decode(block, inRange);
+        }
+        List<BufferedPoint> pending = new ArrayList<>();
+        buffered.computeIfPresent(productId, (id, list) -> {
+            pending.addAll(list);
+            return list;
+        });
+        for (BufferedPoint point : pending) {
+            inRange.accept(point.time(), point.price(), point.quantity());
+        }
+        points.sort(Comparator.comparingLong(BufferedPoint::time));
+        for (BufferedPoint point : points) {
+            consumer.accept(point.time(), point.price(), point.quantity());
+        }
+    }
+
+    private List<BufferedPoint> drain(Long productId) {
+        List<BufferedPoint> points = buffered.remove(productId);
+        return points == null ? new ArrayList<>() : points;
+    }
+
+    /**
+     * Puts points that could not be appended back into the buffer, ahead of the ones buffered meanwhile.
+     */
+    private void requeue(Map<Long, List<BufferedPoint>> points) {
+        points.forEach((productId, failed) -> buffered.compute(productId, (id, newer) -> {
+            if (newer != null) {
+                failed.addAll(newer);
+            }
+            return failed;
+        }));
+        log.warn("Price history of {} products kept for the next flush", points.size());
+    }
+
+    /**
+     * Appends the points of each product to its open block, opening new blocks as they fill up.
+     *
+     * @return true if the points were appended, false if they are still to be appended.
+     */
+    private boolean append(Map<Long, List<BufferedPoint>> points) {
+        return withRetry(points.size() + " products", () -> {
+            Map<Long, PriceHistoryBlock> openBlocks = new HashMap<>();
+            for (PriceHistoryBlock block : priceHistoryBlockRepository.findOpenBlocks(points.keySet(), PriceHistoryCodec.POINTS_PER_BLOCK)) {
+                openBlocks.put(block.getProductId(), block);
+            }
+            // Every open block found receives at least one point
+            List<PriceHistoryBlock> blocks = new ArrayList<>(openBlocks.values());
+            points.forEach((productId, productPoints) -> {
+                PriceHistoryBlock block = openBlocks.get(productId);
+                for (BufferedPoint point : productPoints) {
+                    if (block == null || PriceHistoryCodec.isFull(block)) {
+                        block = PriceHistoryCodec.newBlock(productId, point.time());
+                        blocks.add(block);
+                    }
+                    PriceHistoryCodec.append(block, point.time(), point.price(), point.quantity());
+                }
+            });
+            priceHistoryBlockRepository.saveAll(blocks);
+        });
+    }
+
+    /**
+     * Runs the append in a transaction, retrying when another writer updated the same block meanwhile.
+     *
+     * @return true if the append was committed.
+     */
+    private boolean withRetry(String target, Runnable append) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> append.run());
+                return true;
+            } catch (OptimisticLockingFailureException e) {
+                log.debug("Concurrent price history append for {}, attempt {}", target, attempt);
+            } catch (DataAccessException e) {
+                log.error("Failed to record price history for {}", target, e);
+                return false;
+            }
+        }
+        log.error("Failed to record price history for {} after {} attempts", target, MAX_ATTEMPTS);
+        return false;
+    }
+
+    private record BufferedPoint(long time, double price, int quantity) {
+    }
+}
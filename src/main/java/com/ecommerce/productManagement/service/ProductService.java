@@ -1,12 +1,31 @@
 package com.ecommerce.productManagement.service;
 
+import com.ecommerce.productManagement.aggregate.CatalogAggregates;
+import com.ecommerce.productManagement.cache.EncodedProduct;
+import com.ecommerce.productManagement.cache.ProductChange;
+import com.ecommerce.productManagement.cache.ProductNearCache;
+import com.ecommerce.productManagement.cache.ProductResponseEncoder;
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
 import com.ecommerce.productManagement.exception.ProductNotFoundException;
+import com.ecommerce.productManagement.hotspot.HotProductTracker;
+import com.ecommerce.productManagement.index.ProductIndex;
+import com.ecommerce.productManagement.index.ProductNameIndex;
+import com.ecommerce.productManagement.model.AccessType;
+import com.ecommerce.productManagement.model.CatalogSummary;
+import com.ecommerce.productManagement.model.HotProduct;
 import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.ProductSuggestion;
+import com.ecommerce.productManagement.model.SuggestionOrder;
 import com.ecommerce.productManagement.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,19 +37,70 @@ import java.util.Optional;
 public class ProductService implements IProductService {
 
     private final ProductRepository productRepository;
+    private final ProductIndex productIndex;
+    private final CatalogAggregates catalogAggregates;
+    private final ProductNearCache productNearCache;
+    private final PriceHistoryService priceHistoryService;
+    private final ProductNameIndex productNameIndex;
+    private final ProductResponseEncoder productResponseEncoder;
+    private final HotProductTracker hotProductTracker;
 
     @Autowired
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductIndex productIndex,
+                          CatalogAggregates catalogAggregates, ProductNearCache productNearCache,
+                          PriceHistoryService priceHistoryService, ProductNameIndex productNameIndex,
+                          ProductResponseEncoder productResponseEncoder, HotProductTracker hotProductTracker) {
         this.productRepository = productRepository;
+        this.productIndex = productIndex;
+        this.catalogAggregates = catalogAggregates;
+        this.productNearCache = productNearCache;
+        this.priceHistoryService = priceHistoryService;
+        this.productNameIndex = productNameIndex;
+        this.productResponseEncoder = productResponseEncoder;
+        this.hotProductTracker = hotProductTracker;
     }
 
     /**
-     * Retrieves a product by its ID.
+     * Keeps the in-memory indexes of this instance up to date with the changes made by the other instances.
+     */
+    @PostConstruct
+    public void subscribe() {
+        productNearCache.onRemoteChanges(changes -> changes.forEach(this::index));
+    }
+
+    /**
+     * Retrieves a product by its ID, from the near-cache when possible.
      * @param id the unique identifier of the product to retrieve.
      * @return an Optional<Product> if found, or an empty {@link Optional} if not.
      */
     public Optional<Product> getProductById(Long id) {
-        return productRepository.findById(id);
+        hotProductTracker.recordRead(id);
+        Optional<Product> product = productNearCache.get(id);
+        if (product.isEmpty()) {
+            long stamp = productNearCache.stamp(id);
+            product = productRepository.findById(id);
+            product.ifPresent(found -> productNearCache.putIfUnchanged(id, found, stamp));
+        }
+        product.ifPresent(found -> productNameIndex.recordView(id));
+        return product;
+    }
+
+    /**
+     * Retrieves a product by its ID as a ready to write response body.
+     * Bodies are cached with the near-cache entry, so a hit skips serialization altogether.
+     *
+     * @param id the unique identifier of the product to retrieve.
+     * @return an Optional containing the {@link EncodedProduct} if found, or an empty {@link Optional} if not.
+     */
+    public Optional<EncodedProduct> getEncodedProductById(Long id) {
+        Optional<EncodedProduct> cached = productNearCache.getEncoded(id, productResponseEncoder::encode);
+        if (cached.isPresent()) {
+            hotProductTracker.recordRead(id);
+            productNameIndex.recordView(id);
+            return cached;
+        }
+        return getProductById(id).map(product -> productNearCache.getEncoded(id, productResponseEncoder::encode)
+                .orElseGet(() -> productResponseEncoder.encode(product)));
     }
 
     /**
@@ -49,26 +119,55 @@ public class ProductService implements IProductService {
      * @return the {@link Product} object that was saved.
      */
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        ProductChange change = ProductChange.saved(savedProduct);
+        index(change);
+        productNearCache.invalidate(change);
+        priceHistoryService.record(savedProduct.getId(), savedProduct.getPrice(), savedProduct.getQuantity());
+        hotProductTracker.recordWrite(savedProduct.getId());
+        return savedProduct;
     }
 
     /**
      * Updates an existing product with the provided details.
+     * The update is applied again to the latest state of the product when someone else changed it meanwhile.
      * 
      * @param id the unique identifier of the product to update.
      * @param product the product with updated information.
      * @return the updated {@link Product} object after saving it to the repository.
      */
     public Product updateProduct(Long id, Product product) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return tryUpdateProduct(id, product);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == ProductManagementConstants.MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private Product tryUpdateProduct(Long id, Product product) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found with ID: " + id));
+        double oldPrice = existingProduct.getPrice();
+        int oldQuantity = existingProduct.getQuantity();
 
         existingProduct.setName(product.getName());
         existingProduct.setPrice(product.getPrice());
         existingProduct.setDescription(product.getDescription());
         existingProduct.setQuantity(product.getQuantity());
 
-        return productRepository.save(existingProduct);
+        Product savedProduct = productRepository.save(existingProduct);
+        ProductChange change = ProductChange.saved(savedProduct);
+        index(change);
+        productNearCache.invalidate(change);
+        hotProductTracker.recordWrite(id);
+        if (Double.compare(oldPrice, savedProduct.getPrice()) != 0 || oldQuantity != savedProduct.getQuantity()) {
+            priceHistoryService.record(id, savedProduct.getPrice(), savedProduct.getQuantity());
+        }
+        return savedProduct;
     }
 
     /**
@@ -79,10 +178,119 @@ public class ProductService implements IProductService {
      */
     public boolean deleteProduct(Long id) {
         // Check if the product exists or not
-        if (!productRepository.existsById(id)) {
+        Optional<Product> existingProduct = productRepository.findById(id);
+        if (existingProduct.isEmpty()) {
             return false;
         }
         productRepository.deleteById(id);
+        ProductChange change = ProductChange.deleted(id);
+        index(change);
+        productNearCache.invalidate(change);
+        hotProductTracker.recordWrite(id);
         return true;
     }
+
+    /**
+     * Retrieves products priced within the given range using the in-memory price index.
+     *
+     * @param minPrice   the lowest price to include.
+     * @param maxPrice   the highest price to include.
+     * @param limit      the maximum number of products to return.
+     * @param descending true to return the most expensive products first, false for the cheapest first.
+     * @return a {@link List} of matching {@link Product} objects ordered by price.
+     */
+    public List<Product> getProductsByPriceRange(double minPrice, double maxPrice, int limit, boolean descending) {
+        return findAllInOrder(productIndex.findByPriceRange(minPrice, maxPrice, limit, descending));
+    }
+
+    /**
+     * Retrieves products whose quantity is below the given threshold using the in-memory stock index.
+     *
+     * @param threshold the quantity products must be below.
+     * @param limit     the maximum number of products to return.
+     * @return a {@link List} of matching {@link Product} objects, lowest stock first.
+     */
+    public List<Product> getProductsWithQuantityBelow(int threshold, int limit) {
+        return findAllInOrder(productIndex.findByQuantityBelow(threshold, limit));
+    }
+
+    /**
+     * Retrieves the catalog wide figures, maintained incrementally instead of scanning every product.
+     *
+     * @return the current {@link CatalogSummary}.
+     */
+    public CatalogSummary getCatalogSummary() {
+        return catalogAggregates.getSummary();
+    }
+
+    /**
+     * Suggests products whose name starts with the given prefix using the in-memory name index.
+     *
+     * @param prefix the beginning of the name typed so far, matched ignoring case.
+     * @param limit  the maximum number of suggestions to return.
+     * @param order  how to rank the suggestions.
+     * @return a {@link List} of {@link ProductSuggestion} objects, best ranked first.
+     */
+    public List<ProductSuggestion> getSuggestions(String prefix, int limit, SuggestionOrder order) {
+        return productNameIndex.suggest(prefix, limit, order);
+    }
+
+    /**
+     * Retrieves the most accessed products from the in-memory hot product tracker.
+     *
+     * @param type  the kind of access to rank the products by.
+     * @param limit the maximum number of products to return.
+     * @return a {@link List} of {@link HotProduct} objects, highest access rate first.
+     */
+    public List<HotProduct> getHotProducts(AccessType type, int limit) {
+        return hotProductTracker.getHotProducts(type, limit);
+    }
+
+    /**
+     * Applies a change saved to the database, by this instance or another one, to the in-memory indexes.
+     * The aggregates are adjusted from wherever the price and stock index had the product,
+     * rather than from values read before saving.
+     */
+    private void index(ProductChange change) {
+        long id = change.id();
+        if (change.deleted()) {
+            ProductIndex.Stock indexed = productIndex.remove(id);
+            if (indexed != null) {
+                catalogAggregates.remove(id, indexed.price(), indexed.quantity());
+            }
+            productNameIndex.remove(id);
+            return;
+        }
+        ProductIndex.Stock indexed = productIndex.put(id, change.price(), change.quantity(), change.version());
+        if (indexed == null) {
+            catalogAggregates.add(id, change.price(), change.quantity());
+        } else if (indexed != ProductIndex.STALE) {
+            catalogAggregates.update(id, indexed.price(), indexed.quantity(), change.price(), change.quantity());
+        }
+        if (change.name() != null) {
+            productNameIndex.put(id, change.name(), change.version());
+        }
+    }
+
+    /**
+     * Loads the products with the given ids, keeping the order in which the ids were given.
+     */
+    private List<Product> findAllInOrder(long[] ids) {
+        List<Long> idList = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            idList.add(id);
+        }
+        Map<Long, Product> productsById = new HashMap<>();
+        for (Product product : productRepository.findAllById(idList)) {
+            productsById.put(product.getId(), product);
+        }
+        List<Product> products = new ArrayList<>(ids.length);
+        for (Long id : idList) {
+            Product product = productsById.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
 }
\ No newline at end of file
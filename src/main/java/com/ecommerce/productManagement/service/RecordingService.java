@@ -0,0 +1,130 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import com.ecommerce.productManagement.exception.InvalidRecordingProfileException;
+import com.ecommerce.productManagement.exception.RecordingStateException;
+import com.ecommerce.productManagement.model.RecordingInfo;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Service class driving one Java Flight Recorder recording at a time, for the admin endpoint.
+ * Besides the JVM events chosen by the configuration, recordings hold the controller, service
+ * and repository events of the application, see the {@code diagnostics} package.
+ */
+@Service
+@Slf4j
+public class RecordingService implements IRecordingService {
+
+    /**
+     * Events never recorded, since they would put environment variables and system properties,
+     * credentials among them, into the dumps.
+     */
+    private static final List<String> SENSITIVE_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty");
+
+    private Recording recording;
+    private String profile;
+
+    /**
+     * Starts a recording with the given flight recorder configuration, keeping only the most recent events.
+     * Events that would expose the environment or system properties are left out whatever the configuration.
+     * The previous recording, if stopped, is discarded.
+     *
+     * @param profile the name of the configuration, such as {@code default} or {@code profile}.
+     * @param maxAge  how long recorded events are kept.
+     * @return the started {@link RecordingInfo}.
+     */
+    public synchronized RecordingInfo startRecording(String profile, Duration maxAge) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException(ProductManagementConstants.RECORDING_ALREADY_RUNNING);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(profile);
+        } catch (IOException | ParseException e) {
+            throw new InvalidRecordingProfileException(ProductManagementConstants.UNKNOWN_RECORDING_PROFILE + ": " + profile, e);
+        }
+        close();
+        Recording started = new Recording(configuration);
+        SENSITIVE_EVENTS.forEach(started::disable);
+        started.setName("productManagement-" + profile);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.start();
+        this.recording = started;
+        this.profile = profile;
+        log.info("Started flight recording {} with profile {}", started.getId(), profile);
+        return toInfo();
+    }
+
+    /**
+     * Stops the running recording. Its events stay available for a dump until the next start.
+     *
+     * @return the stopped {@link RecordingInfo}.
+     */
+    public synchronized RecordingInfo stopRecording() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new RecordingStateException(ProductManagementConstants.NO_RECORDING_RUNNING);
+        }
+        recording.stop();
+        log.info("Stopped flight recording {}", recording.getId());
+        return toInfo();
+    }
+
+    /**
+     * Retrieves the last started recording.
+     *
+     * @return the {@link RecordingInfo}, running or stopped.
+     */
+    public synchronized RecordingInfo getRecording() {
+        requireRecording();
+        return toInfo();
+    }
+
+    /**
+     * Writes the events of the last started recording to a new temporary file.
+     *
+     * @return the path of the file, to be deleted by the caller.
+     */
+    public synchronized Path dumpRecording() {
+        requireRecording();
+        try {
+            Path file = Files.createTempFile("productManagement-" + recording.getId() + "-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private void requireRecording() {
+        if (recording == null) {
+            throw new RecordingStateException(ProductManagementConstants.NO_RECORDING);
+        }
+    }
+
+    private RecordingInfo toInfo() {
+        return new RecordingInfo(recording.getId(), profile, recording.getState().name(),
+                recording.getStartTime(), recording.getStopTime(), recording.getSize());
+    }
+}
@@ -0,0 +1,281 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.aggregate.CatalogAggregates;
+import com.ecommerce.productManagement.cache.ProductChange;
+import com.ecommerce.productManagement.cache.ProductNearCache;
+import com.ecommerce.productManagement.constants.ProductManagementConstants;
+import com.ecommerce.productManagement.exception.InvalidRepricingRuleException;
+import com.ecommerce.productManagement.exception.RepricingJobNotFoundException;
+import com.ecommerce.productManagement.index.ProductIndex;
+import com.ecommerce.productManagement.model.PriceAdjustment;
+import com.ecommerce.productManagement.model.PriceChange;
+import com.ecommerce.productManagement.model.RepricingChunk;
+import com.ecommerce.productManagement.model.RepricingJob;
+import com.ecommerce.productManagement.model.RepricingRequest;
+import com.ecommerce.productManagement.model.RepricingRule;
+import com.ecommerce.productManagement.model.RepricingStatus;
+import com.ecommerce.productManagement.repository.ProductRepository;
+import com.ecommerce.productManagement.repository.RepricingChunkRepository;
+import com.ecommerce.productManagement.repository.RepricingJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service class repricing many products with set-based UPDATE statements instead of one update per product.
+ * The product id range is cut into chunks applied in parallel, each in its own transaction together with
+ * a {@link RepricingChunk} marker, so that a failed job can be resumed without repricing a chunk twice.
+ */
+@Service
+@Slf4j
+public class RepricingService implements IRepricingService {
+
+    private static final RowMapper<PriceChange> PRICE_CHANGE_MAPPER = (rs, rowNum) -> new PriceChange(
+            rs.getLong("id"), rs.getDouble("price"), rs.getDouble("new_price"), rs.getInt("quantity"),
+            rs.getLong("version") + 1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final RepricingJobRepository repricingJobRepository;
+    private final RepricingChunkRepository repricingChunkRepository;
+    private final ProductIndex productIndex;
+    private final CatalogAggregates catalogAggregates;
+    private final ProductNearCache productNearCache;
+    private final PriceHistoryService priceHistoryService;
+    private final ObjectMapper objectMapper;
+    private final long chunkSize;
+    private final ExecutorService chunkExecutor;
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public RepricingService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            ProductRepository productRepository, RepricingJobRepository repricingJobRepository,
+                            RepricingChunkRepository repricingChunkRepository, ProductIndex productIndex,
+                            CatalogAggregates catalogAggregates, ProductNearCache productNearCache,
+                            PriceHistoryService priceHistoryService, ObjectMapper objectMapper,
+                            @Value("${repricing.chunk-size:10000}") long chunkSize,
+                            @Value("${repricing.parallelism:4}") int parallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.productRepository = productRepository;
+        this.repricingJobRepository = repricingJobRepository;
+        this.repricingChunkRepository = repricingChunkRepository;
+        this.productIndex = productIndex;
+        this.catalogAggregates = catalogAggregates;
+        this.productNearCache = productNearCache;
+        this.priceHistoryService = priceHistoryService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.chunkExecutor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    /**
+     * Validates the rules, counts the matching products and, unless it is a dry run, starts the job.
+     * Products created after the job started are not repriced. Products a rule would take below
+     * the minimum price are left unchanged and counted as skipped, by the dry run up front and by the job
+     * as its chunks are applied.
+     *
+     * @param request the repricing rules and the dry run flag.
+     * @return the started {@link RepricingJob}, or an unsaved one holding the matched and skipped counts
+     * for a dry run.
+     */
+    public RepricingJob startRepricing(RepricingRequest request) {
+        List<RepricingRule> rules = request.getRules();
+        rules.forEach(RepricingService::validate);
+        RepricingStatement statement = RepricingStatement.of(rules);
+
+        Long minId = productRepository.findMinId();
+        Long maxId = productRepository.findMaxId();
+        RepricingJob job = new RepricingJob();
+        job.setRules(writeRules(rules));
+        job.setChunkSize(chunkSize);
+        if (minId != null && maxId != null) {
+            job.setMinId(minId);
+            job.setMaxId(maxId);
+            job.setTotalChunks((int) ((maxId - minId) / chunkSize + 1));
+            job.setMatchedRows(jdbcTemplate.queryForObject(statement.countSql(), Long.class,
+                    statement.countArgs(minId, maxId)));
+        }
+        if (request.isDryRun()) {
+            if (minId != null && maxId != null && statement.floorsPrices()) {
+                job.setSkippedRows(jdbcTemplate.queryForObject(statement.skippedSql(), Long.class,
+                        statement.skippedArgs(minId, maxId)));
+            }
+            job.setStatus(RepricingStatus.DRY_RUN);
+            return job;
+        }
+
+        job.setStatus(RepricingStatus.RUNNING);
+        job.setStartedAt(Instant.now());
+        RepricingJob savedJob = repricingJobRepository.save(job);
+        activeJobs.add(savedJob.getId());
+        launch(savedJob, statement);
+        return savedJob;
+    }
+
+    /**
+     * Retrieves a repricing job with its progress.
+     *
+     * @param id the unique identifier of the repricing job.
+     * @return the {@link RepricingJob}.
+     */
+    public RepricingJob getRepricingJob(Long id) {
+        return repricingJobRepository.findById(id)
+                .orElseThrow(() -> new RepricingJobNotFoundException("Repricing job not found with ID: " + id));
+    }
+
+    /**
+     * Resumes a failed job, or a job left running by a stopped instance. A completed
+     * job, or a job still running on this instance, is returned unchanged.
+     *
+     * @param id the unique identifier of the repricing job.
+     * @return the resumed {@link RepricingJob}.
+     */
+    public RepricingJob resumeRepricing(Long id) {
+        RepricingJob job = getRepricingJob(id);
+        if (job.getStatus() == RepricingStatus.COMPLETED || !activeJobs.add(id)) {
+            return job;
+        }
+        repricingJobRepository.updateStatus(id, RepricingStatus.RUNNING, null, null);
+        job.setStatus(RepricingStatus.RUNNING);
+        job.setFailureMessage(null);
+        job.setFinishedAt(null);
+        launch(job, RepricingStatement.of(readRules(job.getRules())));
+        return job;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        chunkExecutor.shutdownNow();
+    }
+
+    private void launch(RepricingJob job, RepricingStatement statement) {
+        Thread.ofVirtual().name("repricing-" + job.getId()).start(() -> runJob(job, statement));
+    }
+
+    private void runJob(RepricingJob job, RepricingStatement statement) {
+        Set<Integer> appliedChunks = new HashSet<>(repricingChunkRepository.findChunkIndexes(job.getId()));
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int chunk = 0; chunk < job.getTotalChunks(); chunk++) {
+                if (!appliedChunks.contains(chunk)) {
+                    int chunkIndex = chunk;
+                    futures.add(chunkExecutor.submit(() -> applyChunk(job, statement, chunkIndex)));
+                }
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            repricingJobRepository.updateStatus(job.getId(), RepricingStatus.COMPLETED, null, Instant.now());
+            log.debug("Repricing job {} completed", job.getId());
+        } catch (ExecutionException e) {
+            fail(job, futures, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(job, futures, e);
+        } finally {
+            activeJobs.remove(job.getId());
+        }
+    }
+
+    private void applyChunk(RepricingJob job, RepricingStatement statement, int chunk) {
+        long fromId = job.getMinId() + chunk * job.getChunkSize();
+        long toId = Math.min(job.getMaxId(), fromId + job.getChunkSize() - 1);
+        Object[] args = statement.rangeArgs(fromId, toId);
+
+        List<PriceChange> changes = transactionTemplate.execute(status -> {
+            List<PriceChange> selected = jdbcTemplate.query(statement.selectSql(), PRICE_CHANGE_MAPPER, args);
+            // Counted before the update, which may take a repriced product into the band of a rule
+            long skipped = statement.floorsPrices() ? jdbcTemplate.queryForObject(statement.skippedSql(),
+                    Long.class, statement.skippedArgs(fromId, toId)) : 0;
+            if (!selected.isEmpty()) {
+                jdbcTemplate.update(statement.updateSql(), args);
+            }
+            repricingChunkRepository.save(new RepricingChunk(null, job.getId(), chunk, selected.size()));
+            repricingJobRepository.recordChunk(job.getId(), selected.size(), skipped);
+            return selected;
+        });
+
+        List<ProductChange> repriced = new ArrayList<>(changes.size());
+        for (PriceChange change : changes) {
+            // A product updated by a user once the chunk committed is not taken back to its repriced value
+            ProductIndex.Stock indexed = productIndex.put(change.id(), change.newPrice(), change.quantity(),
+                    change.version());
+            if (indexed == null) {
+                catalogAggregates.add(change.id(), change.newPrice(), change.quantity());
+            } else if (indexed != ProductIndex.STALE) {
+                catalogAggregates.update(change.id(), indexed.price(), indexed.quantity(), change.newPrice(),
+                        change.quantity());
+            }
+            repriced.add(new ProductChange(change.id(), null, change.newPrice(), change.quantity(),
+                    change.version(), false));
+        }
+        if (!changes.isEmpty()) {
+            // One message for the chunk drops only the repriced products, here and on the other instances
+            productNearCache.invalidate(repriced);
+            priceHistoryService.recordAll(changes);
+        }
+    }
+
+    private void fail(RepricingJob job, List<Future<?>> futures, Throwable cause) {
+        futures.forEach(future -> future.cancel(false));
+        log.error("Repricing job {} failed", job.getId(), cause);
+        repricingJobRepository.updateStatus(job.getId(), RepricingStatus.FAILED, String.valueOf(cause.getMessage()),
+                Instant.now());
+    }
+
+    private static void validate(RepricingRule rule) {
+        if (rule.getMinPrice() != null && rule.getMaxPrice() != null && rule.getMinPrice() >= rule.getMaxPrice()) {
+            throw new InvalidRepricingRuleException("Minimum price must be lower than maximum price: " + rule);
+        }
+        if (rule.getAdjustment() == PriceAdjustment.PERCENT && rule.getValue() <= -100) {
+            throw new InvalidRepricingRuleException("Percentage must be greater than -100: " + rule);
+        }
+        if (rule.getAdjustment() == PriceAdjustment.SET && rule.getValue() < RepricingStatement.MIN_PRICE) {
+            throw new InvalidRepricingRuleException("New price must be at least " + RepricingStatement.MIN_PRICE + ": " + rule);
+        }
+    }
+
+    private String writeRules(List<RepricingRule> rules) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(rules);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRepricingRuleException(e);
+        }
+        if (json.length() > ProductManagementConstants.MAX_RULES_LENGTH) {
+            throw new InvalidRepricingRuleException("Repricing rules must not exceed "
+                    + ProductManagementConstants.MAX_RULES_LENGTH + " characters once stored, got " + json.length());
+        }
+        return json;
+    }
+
+    private List<RepricingRule> readRules(String rules) {
+        try {
+            return objectMapper.readValue(rules, new TypeReference<List<RepricingRule>>() {
+            });
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored repricing rules cannot be read", e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.model.PriceAdjustment;
+import com.ecommerce.productManagement.model.RepricingRule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL statements applying a list of {@link RepricingRule} to one id range of the product table.
+ * Rules are turned into a single CASE expression, the first rule matching a product wins.
+ */
+final class RepricingStatement {
+
+    /**
+     * The lowest price a rule may leave, after rounding to cents.
+     */
+    static final double MIN_PRICE = 0.01;
+
+    private final String priceExpression;
+    private final List<Object> priceArgs;
+    private final String condition;
+    private final List<Object> conditionArgs;
+    private final String bandCondition;
+    private final List<Object> bandArgs;
+    private final boolean floored;
+
+    private RepricingStatement(String priceExpression, List<Object> priceArgs, String condition,
+                               List<Object> conditionArgs, String bandCondition, List<Object> bandArgs,
+                               boolean floored) {
+        this.priceExpression = priceExpression;
+        this.priceArgs = priceArgs;
+        this.condition = condition;
+        this.conditionArgs = conditionArgs;
+        this.bandCondition = bandCondition;
+        this.bandArgs = bandArgs;
+        this.floored = floored;
+    }
+
+    static RepricingStatement of(List<RepricingRule> rules) {
+        StringBuilder priceExpression = new StringBuilder("case");
+        List<Object> priceArgs = new ArrayList<>();
+        StringBuilder condition = new StringBuilder();
+        List<Object> conditionArgs = new ArrayList<>();
+        StringBuilder bandCondition = new StringBuilder();
+        List<Object> bandArgs = new ArrayList<>();
+        boolean floored = false;
+
+        for (RepricingRule rule : rules) {
+            List<Object> newPriceArgs = new ArrayList<>();
+            String newPrice = newPrice(rule, newPriceArgs);
+            List<Object> ruleArgs = new ArrayList<>();
+            String ruleCondition = ruleCondition(rule, newPrice, newPriceArgs, ruleArgs);
+            floored |= rule.getAdjustment() != PriceAdjustment.SET;
+
+            priceExpression.append(" when ").append(ruleCondition).append(" then ").append(newPrice);
+            priceArgs.addAll(ruleArgs);
+            priceArgs.addAll(newPriceArgs);
+
+            if (!condition.isEmpty()) {
+                condition.append(" or ");
+            }
+            condition.append(ruleCondition);
+            conditionArgs.addAll(ruleArgs);
+
+            if (!bandCondition.isEmpty()) {
+                bandCondition.append(" or ");
+            }
+            bandCondition.append(bandCondition(rule, bandArgs));
+        }
+        priceExpression.append(" else price end");
+        return new RepricingStatement(priceExpression.toString(), priceArgs, condition.toString(), conditionArgs,
+                bandCondition.toString(), bandArgs, floored);
+    }
+
+    /**
+     * Tells whether a rule may skip products of its price band, to keep their price from falling below
+     * {@link #MIN_PRICE}. Only such statements need {@link #skippedSql()} to be run.
+     */
+    boolean floorsPrices() {
+        return floored;
+    }
+
+    /**
+     * Counts the products within the price band of a rule that no rule reprices,
+     * because their price would fall below {@link #MIN_PRICE}.
+     */
+    String skippedSql() {
+        return "select count(*) from product where id between ? and ? and (" + bandCondition + ") and not ("
+                + condition + ")";
+    }
+
+    Object[] skippedArgs(long fromId, long toId) {
+        List<Object> args = new ArrayList<>();
+        args.add(fromId);
+        args.add(toId);
+        args.addAll(bandArgs);
+        args.addAll(conditionArgs);
+        return args.toArray();
+    }
+
+    String countSql() {
+        return "select count(*) from product where id between ? and ? and (" + condition + ")";
+    }
+
+    Object[] countArgs(long fromId, long toId) {
+        List<Object> args = new ArrayList<>();
+        args.add(fromId);
+        args.add(toId);
+        args.addAll(conditionArgs);
+        return args.toArray();
+    }
+
+    /**
+     * Selects and locks the matching rows with their current and new price, and their current version.
+     */
+    String selectSql() {
+        return "select id, price, quantity, version, " + priceExpression + " as new_price from product "
+                + "where id between ? and ? and (" + condition + ") for update";
+    }
+
+    String updateSql() {
+        return "update product set price = " + priceExpression + ", version = version + 1 where id between ? and ? and (" + condition + ")";
+    }
+
+    /**
+     * Arguments of both {@link #selectSql()} and {@link #updateSql()}.
+     */
+    Object[] rangeArgs(long fromId, long toId) {
+        List<Object> args = new ArrayList<>(priceArgs);
+        args.add(fromId);
+        args.add(toId);
+        args.addAll(conditionArgs);
+        return args.toArray();
+    }
+
+    private static String newPrice(RepricingRule rule, List<Object> newPriceArgs) {
+        return switch (rule.getAdjustment()) {
+            case PERCENT -> {
+                newPriceArgs.add(1 + rule.getValue() / 100);
+                yield "round(price * ?, 2)";
+            }
+            case AMOUNT -> {
+                newPriceArgs.add(rule.getValue());
+                yield "round(price + ?, 2)";
+            }
+            case SET -> {
+                newPriceArgs.add(rule.getValue());
+                yield "?";
+            }
+        };
+    }
+
+    private static String ruleCondition(RepricingRule rule, String newPrice, List<Object> newPriceArgs,
+                                        List<Object> ruleArgs) {
+        List<String> parts = bandParts(rule, ruleArgs);
+        if (rule.getAdjustment() != PriceAdjustment.SET) {
+            // Never lower a price below one cent, judged on the rounded price that would be stored
+            parts.add(newPrice + " >= ?");
+            ruleArgs.addAll(newPriceArgs);
+            ruleArgs.add(MIN_PRICE);
+        }
+        return join(parts);
+    }
+
+    private static String bandCondition(RepricingRule rule, List<Object> bandArgs) {
+        return join(bandParts(rule, bandArgs));
+    }
+
+    private static List<String> bandParts(RepricingRule rule, List<Object> args) {
+        List<String> parts = new ArrayList<>();
+        if (rule.getMinPrice() != null) {
+            parts.add("price >= ?");
+            args.add(rule.getMinPrice());
+        }
+        if (rule.getMaxPrice() != null) {
+            parts.add("price < ?");
+            args.add(rule.getMaxPrice());
+        }
+        return parts;
+    }
+
+    private static String join(List<String> parts) {
+        return parts.isEmpty() ? "(1 = 1)" : "(" + String.join(" and ", parts) + ")";
+    }
+}
@@ -3,7 +3,7 @@ package com.ecommerce.productManagement;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "security.admin.password=secret")
 class ProductManagementApplicationTests {
 
 	@Test
@@ -0,0 +1,197 @@
+package com.ecommerce.productManagement.aggregate;
+
+import com.ecommerce.productManagement.index.ProductIndex;
+import com.ecommerce.productManagement.model.CatalogSummary;
+import com.ecommerce.productManagement.model.CatalogTotalsView;
+import com.ecommerce.productManagement.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the incremental maintenance and the recompute of the catalog aggregates.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CatalogAggregatesTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductIndex productIndex;
+
+    private CatalogAggregates catalogAggregates;
+
+    @BeforeEach
+    public void setUp() {
+        catalogAggregates = new CatalogAggregates(productRepository, productIndex, 10, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        catalogAggregates.shutdown();
+    }
+
+    /**
+     * Test case for deltas applied on create, update and delete.
+     */
+    @Test
+    public void testDeltas() {
+        when(productIndex.minPrice()).thenReturn(50.0);
+        when(productIndex.maxPrice()).thenReturn(200.0);
+
+        catalogAggregates.add(1L, 100.0, 10);
+        catalogAggregates.add(2L, 50.0, 4);
+        catalogAggregates.add(3L, 30.0, 1);
+        catalogAggregates.update(3L, 30.0, 1, 200.0, 0);
+        catalogAggregates.remove(2L, 50.0, 4);
+
+        CatalogSummary summary = catalogAggregates.getSummary();
+
+        assertEquals(2, summary.getSkuCount());
+        assertEquals(1, summary.getOutOfStockCount());
+        assertEquals(10, summary.getTotalQuantity());
+        assertEquals(1000.0, summary.getTotalStockValue(), 1e-9);
+        assertEquals(150.0, summary.getAveragePrice(), 1e-9);
+        assertEquals(50.0, summary.getMinPrice());
+        assertEquals(200.0, summary.getMaxPrice());
+    }
+
+    /**
+     * Test case for an empty catalog, where price statistics are absent.
+     */
+    @Test
+    public void testEmptySummary() {
+        when(productIndex.minPrice()).thenReturn(Double.NaN);
+        when(productIndex.maxPrice()).thenReturn(Double.NaN);
+
+        CatalogSummary summary = catalogAggregates.getSummary();
+
+        assertEquals(0, summary.getSkuCount());
+        assertNull(summary.getMinPrice());
+        assertNull(summary.getMaxPrice());
+        assertNull(summary.getAveragePrice());
+    }
+
+    /**
+     * Test case for the recompute, which sums every id chunk and replaces drifted values.
+     */
+    @Test
+    public void testRecomputeCorrectsDrift() {
+        when(productRepository.findMinId()).thenReturn(1L);
+        when(productRepository.findMaxId()).thenReturn(25L);
+        CatalogTotalsView firstChunk = totals(10, 1L, 40L, 4000.0, 1000.0);
+        CatalogTotalsView emptyChunk = totals(0, null, null, null, null);
+        CatalogTotalsView lastChunk = totals(5, 0L, 10L, 500.0, 250.0);
+        when(productRepository.sumTotalsBetween(1L, 10L)).thenReturn(firstChunk);
+        when(productRepository.sumTotalsBetween(11L, 20L)).thenReturn(emptyChunk);
+        when(productRepository.sumTotalsBetween(21L, 25L)).thenReturn(lastChunk);
+        catalogAggregates.add(99L, 999.0, 999);
+
+        catalogAggregates.recompute();
+        CatalogSummary summary = catalogAggregates.getSummary();
+
+        assertEquals(15, summary.getSkuCount());
+        assertEquals(1, summary.getOutOfStockCount());
+        assertEquals(50, summary.getTotalQuantity());
+        assertEquals(4500.0, summary.getTotalStockValue(), 1e-9);
+        assertEquals(1250.0 / 15, summary.getAveragePrice(), 1e-9);
+    }
+
+    /**
+     * Test case for a product created while its chunk is summed, which is summed again without it.
+     */
+    @Test
+    public void testRecomputeKeepsConcurrentDeltas() {
+        when(productRepository.findMinId()).thenReturn(1L);
+        when(productRepository.findMaxId()).thenReturn(5L);
+        CatalogTotalsView chunk = totals(2, 0L, 20L, 2000.0, 200.0);
+        CatalogTotalsView unsettledChunk = mock(CatalogTotalsView.class);
+        when(productRepository.sumTotalsBetween(1L, 5L)).thenAnswer(invocation -> {
+            catalogAggregates.add(3L, 50.0, 0);
+            return unsettledChunk;
+        });
+        when(productRepository.sumTotalsBetweenExcluding(1L, 5L, Set.of(3L))).thenReturn(chunk);
+        catalogAggregates.add(99L, 999.0, 999);
+
+        catalogAggregates.recompute();
+        CatalogSummary summary = catalogAggregates.getSummary();
+
+        assertEquals(3, summary.getSkuCount());
+        assertEquals(1, summary.getOutOfStockCount());
+        assertEquals(20, summary.getTotalQuantity());
+        assertEquals(2000.0, summary.getTotalStockValue(), 1e-9);
+        assertEquals(250.0 / 3, summary.getAveragePrice(), 1e-9);
+    }
+
+    /**
+     * Test case for a product changed after the recompute started but before its chunk is read,
+     * whose new price must be counted once.
+     */
+    @Test
+    public void testRecomputeCountsEarlyChangeOnce() {
+        catalogAggregates.add(1L, 10.0, 1);
+        catalogAggregates.add(2L, 10.0, 1);
+        when(productRepository.findMinId()).thenReturn(1L);
+        when(productRepository.findMaxId()).thenAnswer(invocation -> {
+            catalogAggregates.update(2L, 10.0, 1, 20.0, 1);
+            return 2L;
+        });
+        CatalogTotalsView chunk = totals(1, 0L, 1L, 10.0, 10.0);
+        when(productRepository.sumTotalsBetweenExcluding(1L, 2L, Set.of(2L))).thenReturn(chunk);
+
+        catalogAggregates.recompute();
+        CatalogSummary summary = catalogAggregates.getSummary();
+
+        assertEquals(2, summary.getSkuCount());
+        assertEquals(2, summary.getTotalQuantity());
+        assertEquals(30.0, summary.getTotalStockValue(), 1e-9);
+        verify(productRepository, never()).sumTotalsBetween(anyLong(), anyLong());
+    }
+
+    /**
+     * Test case for a chunk whose products keep changing, which leaves the figures uncorrected.
+     */
+    @Test
+    public void testRecomputeSkippedWhileChunkChanges() {
+        when(productRepository.findMinId()).thenReturn(1L);
+        when(productRepository.findMaxId()).thenReturn(5L);
+        AtomicLong nextId = new AtomicLong(1);
+        CatalogTotalsView chunk = mock(CatalogTotalsView.class);
+        when(productRepository.sumTotalsBetween(1L, 5L)).thenAnswer(invocation -> {
+            catalogAggregates.add(nextId.getAndIncrement(), 10.0, 1);
+            return chunk;
+        });
+        when(productRepository.sumTotalsBetweenExcluding(eq(1L), eq(5L), any())).thenAnswer(invocation -> {
+            catalogAggregates.add(nextId.getAndIncrement(), 10.0, 1);
+            return chunk;
+        });
+
+        catalogAggregates.recompute();
+
+        assertEquals(3, catalogAggregates.getSummary().getSkuCount());
+    }
+
+    private static CatalogTotalsView totals(long skuCount, Long outOfStockCount, Long totalQuantity,
+                                            Double totalStockValue, Double priceSum) {
+        CatalogTotalsView view = mock(CatalogTotalsView.class);
+        when(view.getSkuCount()).thenReturn(skuCount);
+        when(view.getOutOfStockCount()).thenReturn(outOfStockCount);
+        when(view.getTotalQuantity()).thenReturn(totalQuantity);
+        when(view.getTotalStockValue()).thenReturn(totalStockValue);
+        when(view.getPriceSum()).thenReturn(priceSum);
+        return view;
+    }
+}
@@ -0,0 +1,248 @@
+package com.ecommerce.productManagement.cache;
+
+import com.ecommerce.productManagement.ProductManagementApplication;
+import com.ecommerce.productManagement.hotspot.HotProductTracker;
+import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.ProductSuggestion;
+import com.ecommerce.productManagement.model.SuggestionOrder;
+import com.ecommerce.productManagement.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the near-cache fills and its coherence across instances.
+ * Instances are simulated by application contexts sharing one in-memory database and the loopback transport.
+ */
+public class ProductNearCacheTest {
+
+    private LoopbackInvalidationTransport transport;
+    private ProductNearCache productNearCache;
+
+    private final Product product = new Product(1L, "Mobile", 100.0, "Mobile Description", 10);
+
+    @BeforeEach
+    public void setUp() {
+        transport = new LoopbackInvalidationTransport("test");
+        productNearCache = new ProductNearCache(transport, ProductAdmissionPolicy.ADMIT_ALL, 2, 60_000, 100);
+        productNearCache.subscribe();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transport.close();
+    }
+
+    /**
+     * Test case for a fill followed by a hit, which must return a copy of the cached product.
+     */
+    @Test
+    public void testFillAndHit() {
+        productNearCache.putIfUnchanged(1L, product, productNearCache.stamp(1L));
+
+        Optional<Product> result = productNearCache.get(1L);
+
+        assertTrue(result.isPresent());
+        assertEquals(product, result.get());
+        assertNotSame(product, result.get());
+    }
+
+    /**
+     * Test case for a read racing with an invalidation, whose stale value must not be cached.
+     */
+    @Test
+    public void testStaleFillRejected() {
+        long stamp = productNearCache.stamp(1L);
+        productNearCache.invalidate(ProductChange.deleted(1L));
+
+        productNearCache.putIfUnchanged(1L, product, stamp);
+
+        assertFalse(productNearCache.get(1L).isPresent());
+    }
+
+    /**
+     * Test case for the size bound of the cache.
+     */
+    @Test
+    public void testMaxEntries() {
+        for (long id = 1; id <= 5; id++) {
+            productNearCache.putIfUnchanged(id, product, productNearCache.stamp(id));
+        }
+
+        assertEquals(2, productNearCache.size());
+    }
+
+    /**
+     * Test case for the size bound under concurrent fills of different products.
+     */
+    @Test
+    public void testMaxEntriesUnderConcurrentFills() throws InterruptedException {
+        AtomicInteger maxSize = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long firstId = t * 1_000L;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (long id = firstId; id < firstId + 1_000; id++) {
+                    productNearCache.putIfUnchanged(id, product, productNearCache.stamp(id));
+                    maxSize.accumulateAndGet(productNearCache.size(), Math::max);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(2, maxSize.get());
+        assertEquals(2, productNearCache.size());
+    }
+
+    /**
+     * Test case for a full cache keeping the products read most often, and the pinned ones.
+     */
+    @Test
+    public void testAdmissionByReadFrequency() {
+        HotProductTracker tracker = new HotProductTracker(1024, 4, 1, 60_000, 1_000);
+        productNearCache = new ProductNearCache(transport, tracker, 2, 60_000, 100);
+        for (int i = 0; i < 10; i++) {
+            tracker.recordRead(1L);
+        }
+        for (int i = 0; i < 3; i++) {
+            tracker.recordRead(2L);
+        }
+        productNearCache.putIfUnchanged(1L, product, productNearCache.stamp(1L));
+        productNearCache.putIfUnchanged(2L, product, productNearCache.stamp(2L));
+
+        tracker.recordRead(3L);
+        productNearCache.putIfUnchanged(3L, product, productNearCache.stamp(3L));
+        assertFalse(productNearCache.get(3L).isPresent());
+
+        for (int i = 0; i < 5; i++) {
+            tracker.recordRead(3L);
+        }
+        productNearCache.putIfUnchanged(3L, product, productNearCache.stamp(3L));
+        assertTrue(tracker.isPinned(1L));
+        assertTrue(productNearCache.get(1L).isPresent());
+        assertFalse(productNearCache.get(2L).isPresent());
+        assertTrue(productNearCache.get(3L).isPresent());
+    }
+
+    /**
+     * Test case for the response body kept with an entry, encoded once and dropped with the entry.
+     */
+    @Test
+    public void testEncodedBodyFollowsEntry() {
+        AtomicInteger encodings = new AtomicInteger();
+        Function<Product, EncodedProduct> encoder = cached -> {
+            encodings.incrementAndGet();
+            return new EncodedProduct(new byte[40], null);
+        };
+        assertFalse(productNearCache.getEncoded(1L, encoder).isPresent());
+
+        productNearCache.putIfUnchanged(1L, product, productNearCache.stamp(1L));
+        EncodedProduct first = productNearCache.getEncoded(1L, encoder).orElseThrow();
+        EncodedProduct second = productNearCache.getEncoded(1L, encoder).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1, encodings.get());
+        assertEquals(40, productNearCache.encodedBytes());
+
+        productNearCache.invalidate(ProductChange.deleted(1L));
+        assertFalse(productNearCache.getEncoded(1L, encoder).isPresent());
+        assertEquals(0, productNearCache.encodedBytes());
+    }
+
+    /**
+     * Test case for the memory budget of the response bodies, beyond which bodies are not kept.
+     */
+    @Test
+    public void testEncodedBytesBudget() {
+        Function<Product, EncodedProduct> encoder = cached -> new EncodedProduct(new byte[60], null);
+        productNearCache.putIfUnchanged(1L, product, productNearCache.stamp(1L));
+        productNearCache.putIfUnchanged(2L, product, productNearCache.stamp(2L));
+
+        EncodedProduct kept = productNearCache.getEncoded(1L, encoder).orElseThrow();
+        EncodedProduct notKept = productNearCache.getEncoded(2L, encoder).orElseThrow();
+
+        assertEquals(60, productNearCache.encodedBytes());
+        assertSame(kept, productNearCache.getEncoded(1L, encoder).orElseThrow());
+        assertNotSame(notKept, productNearCache.getEncoded(2L, encoder).orElseThrow());
+    }
+
+    /**
+     * Test case for the changes of another instance reaching the listeners, unlike the changes of this one.
+     */
+    @Test
+    public void testRemoteChangesDelivered() {
+        ProductNearCache other = new ProductNearCache(transport, ProductAdmissionPolicy.ADMIT_ALL, 2, 60_000, 100);
+        other.subscribe();
+        List<ProductChange> received = new ArrayList<>();
+        productNearCache.onRemoteChanges(received::addAll);
+        ProductChange change = ProductChange.saved(product);
+
+        productNearCache.invalidate(change);
+        assertTrue(received.isEmpty());
+
+        other.invalidate(change);
+        assertEquals(List.of(change), received);
+    }
+
+    /**
+     * Test case for a create, an update and a delete on one instance invalidating the copy cached by another
+     * and reaching its price, stock and name indexes and its aggregates.
+     */
+    @Test
+    public void testInvalidationAcrossInstances() {
+        String[] args = {"--spring.datasource.url=jdbc:h2:mem:nearCacheCoherence;DB_CLOSE_DELAY=-1",
+                "--server.port=0", "--logging.level.root=INFO", "--spring.jpa.show-sql=false",
+                "--security.admin.password=secret"};
+        try (ConfigurableApplicationContext first = startInstance(args);
+             ConfigurableApplicationContext second = startInstance(args)) {
+            ProductService firstService = first.getBean(ProductService.class);
+            ProductService secondService = second.getBean(ProductService.class);
+
+            Product created = firstService.createProduct(new Product(null, "Mobile", 100.0, "Mobile Description", 10));
+            Long id = created.getId();
+            assertEquals(100.0, secondService.getProductById(id).orElseThrow().getPrice());
+            assertEquals(1, second.getBean(ProductNearCache.class).size());
+            assertEquals(List.of(id), ids(secondService.getProductsByPriceRange(90.0, 110.0, 10, false)));
+            assertEquals(List.of("Mobile"), names(secondService.getSuggestions("Mob", 10, SuggestionOrder.ALPHABETICAL)));
+            assertEquals(1, secondService.getCatalogSummary().getSkuCount());
+
+            firstService.updateProduct(id, new Product(id, "Tablet", 120.0, "Tablet Description", 10));
+            assertEquals(0, second.getBean(ProductNearCache.class).size());
+            assertEquals(120.0, secondService.getProductById(id).orElseThrow().getPrice());
+            assertTrue(secondService.getProductsByPriceRange(90.0, 110.0, 10, false).isEmpty());
+            assertEquals(List.of(id), ids(secondService.getProductsByPriceRange(110.0, 130.0, 10, false)));
+            assertTrue(secondService.getSuggestions("Mob", 10, SuggestionOrder.ALPHABETICAL).isEmpty());
+            assertEquals(List.of("Tablet"), names(secondService.getSuggestions("Tab", 10, SuggestionOrder.ALPHABETICAL)));
+
+            firstService.deleteProduct(id);
+            assertFalse(secondService.getProductById(id).isPresent());
+            assertTrue(secondService.getProductsByPriceRange(110.0, 130.0, 10, false).isEmpty());
+            assertTrue(secondService.getSuggestions("Tab", 10, SuggestionOrder.ALPHABETICAL).isEmpty());
+            assertEquals(0, secondService.getCatalogSummary().getSkuCount());
+        }
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+
+    private static List<String> names(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::getName).toList();
+    }
+
+    private static ConfigurableApplicationContext startInstance(String[] args) {
+        return new SpringApplicationBuilder(ProductManagementApplication.class).run(args);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.productManagement.cache;
+
+import com.ecommerce.productManagement.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the serialization of products into response bodies.
+ */
+public class ProductResponseEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Test case for the JSON body, which must read back as the same product.
+     */
+    @Test
+    public void testEncodeWithoutCompression() throws IOException {
+        Product product = new Product(1L, "Mobile", 100.0, "Mobile Description", 10);
+        ProductResponseEncoder encoder = new ProductResponseEncoder(objectMapper, false, DataSize.ofBytes(0));
+
+        EncodedProduct encoded = encoder.encode(product);
+
+        assertEquals(product, objectMapper.readValue(encoded.json(), Product.class));
+        assertNull(encoded.gzip());
+    }
+
+    /**
+     * Test case for the gzip variant, only produced for bodies reaching the minimum response size.
+     */
+    @Test
+    public void testEncodeWithCompression() throws IOException {
+        ProductResponseEncoder encoder = new ProductResponseEncoder(objectMapper, true, DataSize.ofBytes(200));
+        Product small = new Product(1L, "Mobile", 100.0, "Short", 10);
+        Product large = new Product(2L, "Laptop", 900.0, "A laptop ".repeat(100), 3);
+
+        assertNull(encoder.encode(small).gzip());
+
+        EncodedProduct encoded = encoder.encode(large);
+        assertNotNull(encoded.gzip());
+        assertTrue(encoded.gzip().length < encoded.json().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertArrayEquals(encoded.json(), in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.productManagement.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.DelegatingFilterProxy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * This class tests that the admin endpoints are reserved to the administrator.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:security;DB_CLOSE_DELAY=-1",
+        "security.admin.username=operator",
+        "security.admin.password=secret"
+})
+public class SecurityConfigTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        DelegatingFilterProxy securityFilter = new DelegatingFilterProxy("springSecurityFilterChain", webApplicationContext);
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).addFilters(securityFilter).build();
+    }
+
+    /**
+     * Test case for the catalog user, allowed on the catalog but not on the admin endpoints.
+     */
+    @Test
+    public void testUserIsNotAdmin() throws Exception {
+        mockMvc.perform(get("/products/aggregates").header(HttpHeaders.AUTHORIZATION, basic("root", "root")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/admin/recording").header(HttpHeaders.AUTHORIZATION, basic("root", "root")))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Test case for the administrator, whose credentials come from the properties.
+     */
+    @Test
+    public void testAdminAllowed() throws Exception {
+        int status = mockMvc.perform(get("/admin/recording").header(HttpHeaders.AUTHORIZATION, basic("operator", "secret")))
+                .andReturn().getResponse().getStatus();
+
+        assertNotEquals(401, status);
+        assertNotEquals(403, status);
+        mockMvc.perform(get("/admin/recording").header(HttpHeaders.AUTHORIZATION, basic("admin", "admin")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Test case for a missing administrator password, which must stop the startup.
+     */
+    @Test
+    public void testAdminPasswordRequired() {
+        assertThrows(IllegalStateException.class, () -> new SecurityConfig().userDetailsService("admin", " "));
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,81 @@
+package com.ecommerce.productManagement.controller;
+
+import com.ecommerce.productManagement.model.PriceBucket;
+import com.ecommerce.productManagement.model.PricePoint;
+import com.ecommerce.productManagement.service.PriceHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * This class contains test cases for the price history endpoints.
+ */
+class PriceHistoryControllerTest {
+
+    @InjectMocks
+    private PriceHistoryController priceHistoryController;
+
+    @Mock
+    private PriceHistoryService priceHistoryService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(priceHistoryController).build();
+    }
+
+    /**
+     * Test case for reading the changes of a product within a period.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetPriceHistory() throws Exception {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-02-01T00:00:00Z");
+        when(priceHistoryService.getPriceHistory(1L, from, to))
+                .thenReturn(List.of(new PricePoint(from.plusSeconds(60), 99.5, 7)));
+
+        mockMvc.perform(get("/products/{id}/priceHistory", 1L)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].price").value(99.5))
+                .andExpect(jsonPath("$[0].quantity").value(7));
+    }
+
+    /**
+     * Test case for reading the changes of a product grouped into buckets.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetDownsampledPriceHistory() throws Exception {
+        PriceBucket bucket = new PriceBucket(Instant.EPOCH, 10.0, 12.0, 9.0, 11.0, 3, 4);
+        when(priceHistoryService.getDownsampledPriceHistory(eq(1L), eq(Instant.EPOCH), any(Instant.class),
+                eq(Duration.ofMinutes(15)))).thenReturn(List.of(bucket));
+
+        mockMvc.perform(get("/products/{id}/priceHistory/downsampled", 1L)
+                        .param("bucketSeconds", "900"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].high").value(12.0))
+                .andExpect(jsonPath("$[0].changes").value(4));
+    }
+}
@@ -1,22 +1,35 @@
 package com.ecommerce.productManagement.controller;
 
+import com.ecommerce.productManagement.cache.EncodedProduct;
+import com.ecommerce.productManagement.cache.ProductResponseEncoder;
+import com.ecommerce.productManagement.model.AccessType;
+import com.ecommerce.productManagement.model.CatalogSummary;
+import com.ecommerce.productManagement.model.HotProduct;
 import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.ProductSuggestion;
+import com.ecommerce.productManagement.model.SuggestionOrder;
 import com.ecommerce.productManagement.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -33,6 +46,8 @@ class ProductControllerTest {
 
     private MockMvc mockMvc;
 
+    private final ProductResponseEncoder encoder = new ProductResponseEncoder(new ObjectMapper(), false, DataSize.ofKilobytes(2));
+
     private final String productJson = """
             {
                 "name": "Mobile",
@@ -71,6 +86,106 @@ class ProductControllerTest {
         verify(productService, times(1)).getAllProducts();
     }
 
+    /**
+     * Test case for retrieving products by price range with an open upper bound.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetProductsByPriceRange() throws Exception {
+        List<Product> products = List.of(new Product(2L, "Laptop", 1500.0, "High performance laptop", 5));
+        when(productService.getProductsByPriceRange(1000.0, Double.MAX_VALUE, 50, true)).thenReturn(products);
+
+        mockMvc.perform(get("/products/byPrice")
+                        .param("minPrice", "1000")
+                        .param("descending", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Laptop"));
+
+        verify(productService, times(1)).getProductsByPriceRange(1000.0, Double.MAX_VALUE, 50, true);
+    }
+
+    /**
+     * Test case for retrieving products whose stock is below a threshold.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetProductsWithQuantityBelow() throws Exception {
+        List<Product> products = List.of(new Product(2L, "Laptop", 1500.0, "High performance laptop", 5));
+        when(productService.getProductsWithQuantityBelow(10, 20)).thenReturn(products);
+
+        mockMvc.perform(get("/products/lowStock")
+                        .param("threshold", "10")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].quantity").value(5));
+
+        verify(productService, times(1)).getProductsWithQuantityBelow(10, 20);
+    }
+
+    /**
+     * Test case for retrieving the catalog aggregates.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetCatalogSummary() throws Exception {
+        CatalogSummary summary = new CatalogSummary(2, 0, 15, 8500.0, 100.0, 1500.0, 800.0);
+        when(productService.getCatalogSummary()).thenReturn(summary);
+
+        mockMvc.perform(get("/products/aggregates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.skuCount").value(2))
+                .andExpect(jsonPath("$.totalStockValue").value(8500.0))
+                .andExpect(jsonPath("$.maxPrice").value(1500.0));
+
+        verify(productService, times(1)).getCatalogSummary();
+    }
+
+    /**
+     * Test case for retrieving name suggestions in alphabetical order.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetSuggestions() throws Exception {
+        List<ProductSuggestion> suggestions = List.of(new ProductSuggestion(2L, "Laptop", 0),
+                new ProductSuggestion(5L, "Laptop Bag", 7));
+        when(productService.getSuggestions("lap", 5, SuggestionOrder.ALPHABETICAL)).thenReturn(suggestions);
+
+        mockMvc.perform(get("/products/suggest")
+                        .param("prefix", "lap")
+                        .param("limit", "5")
+                        .param("order", "ALPHABETICAL"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Laptop"))
+                .andExpect(jsonPath("$[1].popularity").value(7));
+
+        verify(productService, times(1)).getSuggestions("lap", 5, SuggestionOrder.ALPHABETICAL);
+    }
+
+    /**
+     * Test case for retrieving the most written products.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetHotProducts() throws Exception {
+        when(productService.getHotProducts(AccessType.WRITE, 3))
+                .thenReturn(List.of(new HotProduct(7L, 4.5), new HotProduct(2L, 0.25)));
+
+        mockMvc.perform(get("/products/hot")
+                        .param("type", "WRITE")
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[1].rate").value(0.25));
+
+        verify(productService, times(1)).getHotProducts(AccessType.WRITE, 3);
+    }
+
     /**
      * Test case for retrieving a product by ID when the product is found.
      *
@@ -80,16 +195,66 @@ class ProductControllerTest {
     void testGetProductById_ProductFound() throws Exception {
         Long productId = 1L;
         Product product = new Product(productId, "Mobile", 100.0, "Mobile with good processor", 10);
-        when(productService.getProductById(productId)).thenReturn(Optional.of(product));
+        when(productService.getEncodedProductById(productId))
+                .thenReturn(Optional.of(encoder.encode(product)));
 
         mockMvc.perform(get("/products/{id}", productId)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.id").value(productId))
                 .andExpect(jsonPath("$.name").value("Mobile"))
                 .andExpect(jsonPath("$.price").value(100.0));
 
-        verify(productService, times(1)).getProductById(productId);
+        verify(productService, times(1)).getEncodedProductById(productId);
+    }
+
+    /**
+     * Test case for retrieving a product by ID with the compressed body, sent only to clients accepting gzip.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetProductById_Compressed() throws Exception {
+        Long productId = 1L;
+        Product product = new Product(productId, "Mobile", 100.0, "Mobile with good processor", 10);
+        EncodedProduct encoded = new ProductResponseEncoder(new ObjectMapper(), true, DataSize.ofBytes(0)).encode(product);
+        when(productService.getEncodedProductById(productId)).thenReturn(Optional.of(encoded));
+
+        mockMvc.perform(get("/products/{id}", productId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().bytes(encoded.gzip()));
+
+        mockMvc.perform(get("/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.name").value("Mobile"));
+
+        mockMvc.perform(get("/products/{id}", productId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(jsonPath("$.name").value("Mobile"));
+    }
+
+    /**
+     * Test case for the quality values of the Accept-Encoding header.
+     */
+    @Test
+    void testAcceptsGzip() {
+        assertTrue(ProductController.acceptsGzip("gzip"));
+        assertTrue(ProductController.acceptsGzip("deflate, gzip;q=0.5"));
+        assertTrue(ProductController.acceptsGzip("*"));
+        assertTrue(ProductController.acceptsGzip("br;q=1.0, *;q=0.1"));
+        assertFalse(ProductController.acceptsGzip(null));
+        assertFalse(ProductController.acceptsGzip("identity"));
+        assertFalse(ProductController.acceptsGzip("gzip;q=0"));
+        assertFalse(ProductController.acceptsGzip("gzip; q=0.000"));
+        assertFalse(ProductController.acceptsGzip("*, gzip;q=0"));
+        assertFalse(ProductController.acceptsGzip("*;q=0"));
     }
 
     /**
@@ -100,7 +265,7 @@ class ProductControllerTest {
     @Test
     void testGetProductById_ProductNotFound() throws Exception {
         Long productId = 999L;
-        when(productService.getProductById(productId)).thenReturn(Optional.empty());
+        when(productService.getEncodedProductById(productId)).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/products/{id}", productId))
                 .andExpect(status().isNotFound());
@@ -0,0 +1,100 @@
+package com.ecommerce.productManagement.controller;
+
+import com.ecommerce.productManagement.model.RecordingInfo;
+import com.ecommerce.productManagement.service.RecordingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * This class contains test cases for the flight recording admin endpoints.
+ */
+class RecordingControllerTest {
+
+    @InjectMocks
+    private RecordingController recordingController;
+
+    @Mock
+    private RecordingService recordingService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(recordingController).build();
+    }
+
+    /**
+     * Test case for starting a recording with a chosen profile.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testStartRecording() throws Exception {
+        when(recordingService.startRecording("profile", Duration.ofMinutes(10)))
+                .thenReturn(new RecordingInfo(3L, "profile", "RUNNING", Instant.now(), null, 0));
+
+        mockMvc.perform(post("/admin/recording/start")
+                        .param("profile", "profile")
+                        .param("maxAgeMinutes", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(3))
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+    }
+
+    /**
+     * Test case for stopping the running recording.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testStopRecording() throws Exception {
+        when(recordingService.stopRecording())
+                .thenReturn(new RecordingInfo(3L, "default", "STOPPED", Instant.now(), Instant.now(), 2048));
+
+        mockMvc.perform(post("/admin/recording/stop"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"))
+                .andExpect(jsonPath("$.size").value(2048));
+    }
+
+    /**
+     * Test case for downloading a recording, whose temporary file must be deleted afterwards.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testDumpRecording() throws Exception {
+        Path file = Files.createTempFile("productManagement-3-", ".jfr");
+        Files.write(file, new byte[]{1, 2, 3});
+        when(recordingService.dumpRecording()).thenReturn(file);
+
+        mockMvc.perform(get("/admin/recording/dump"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString(".jfr")))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+
+        assertFalse(Files.exists(file));
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.productManagement.controller;
+
+import com.ecommerce.productManagement.model.RepricingJob;
+import com.ecommerce.productManagement.model.RepricingRequest;
+import com.ecommerce.productManagement.model.RepricingStatus;
+import com.ecommerce.productManagement.service.RepricingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * This class contains test cases for the repricing endpoints.
+ */
+class RepricingControllerTest {
+
+    @InjectMocks
+    private RepricingController repricingController;
+
+    @Mock
+    private RepricingService repricingService;
+
+    private MockMvc mockMvc;
+
+    private final String repricingJson = """
+            {
+                "rules": [{"maxPrice": 1000, "adjustment": "PERCENT", "value": 5}],
+                "dryRun": %s
+            }
+            """;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(repricingController).build();
+    }
+
+    /**
+     * Test case for starting a repricing job.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testStartRepricing() throws Exception {
+        RepricingJob job = job(1L, RepricingStatus.RUNNING);
+        when(repricingService.startRepricing(any(RepricingRequest.class))).thenReturn(job);
+
+        mockMvc.perform(post("/products/repricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(repricingJson.formatted("false")))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.rules[0].adjustment").value("PERCENT"));
+    }
+
+    /**
+     * Test case for a dry run, answered with the matched count.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testDryRun() throws Exception {
+        RepricingJob job = job(null, RepricingStatus.DRY_RUN);
+        when(repricingService.startRepricing(any(RepricingRequest.class))).thenReturn(job);
+
+        mockMvc.perform(post("/products/repricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(repricingJson.formatted("true")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRows").value(42));
+    }
+
+    /**
+     * Test case for a repricing request without rules.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testStartRepricing_NoRules() throws Exception {
+        mockMvc.perform(post("/products/repricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rules\": []}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(repricingService);
+    }
+
+    /**
+     * Test case for a repricing request with more rules than allowed.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testStartRepricing_TooManyRules() throws Exception {
+        String rule = "{\"adjustment\": \"PERCENT\", \"value\": 5}";
+        String rules = String.join(",", Collections.nCopies(51, rule));
+
+        mockMvc.perform(post("/products/repricing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rules\": [" + rules + "]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(repricingService);
+    }
+
+    /**
+     * Test case for following the progress of a repricing job.
+     *
+     * @throws Exception if any error occurs during request execution
+     */
+    @Test
+    void testGetRepricingJob() throws Exception {
+        when(repricingService.getRepricingJob(1L)).thenReturn(job(1L, RepricingStatus.COMPLETED));
+
+        mockMvc.perform(get("/products/repricing/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+    }
+
+    private static RepricingJob job(Long id, RepricingStatus status) {
+        RepricingJob job = new RepricingJob();
+        job.setId(id);
+        job.setStatus(status);
+        job.setRules("[{\"maxPrice\":1000.0,\"adjustment\":\"PERCENT\",\"value\":5.0}]");
+        job.setMatchedRows(42);
+        return job;
+    }
+}
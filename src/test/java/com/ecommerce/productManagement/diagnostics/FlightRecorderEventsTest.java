@@ -0,0 +1,113 @@
+package com.ecommerce.productManagement.diagnostics;
+
+import com.ecommerce.productManagement.model.PriceAdjustment;
+import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.RepricingRequest;
+import com.ecommerce.productManagement.model.RepricingRule;
+import com.ecommerce.productManagement.service.ProductService;
+import com.ecommerce.productManagement.service.RecordingService;
+import com.ecommerce.productManagement.service.RepricingService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * This class tests that controller requests, service calls, repository calls and JdbcTemplate statements
+ * show up in a flight recording.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flightRecorder;DB_CLOSE_DELAY=-1",
+        "security.admin.password=secret"
+})
+public class FlightRecorderEventsTest {
+
+    @Autowired
+    private RecordingService recordingService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private RepricingService repricingService;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @AfterEach
+    public void tearDown() {
+        recordingService.close();
+    }
+
+    /**
+     * Test case for the events recorded while a product is created and read over HTTP.
+     */
+    @Test
+    public void testEventsAreRecorded() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        recordingService.startRecording("default", Duration.ofMinutes(5));
+
+        Long id = productService.createProduct(new Product(null, "Mobile", 100.0, "Mobile Description", 10)).getId();
+        mockMvc.perform(get("/products/{id}", id)).andExpect(status().isOk());
+        productService.getProductsByPriceRange(0, 1000, 10, false);
+        repricingService.startRepricing(new RepricingRequest(
+                List.of(new RepricingRule(null, null, PriceAdjustment.PERCENT, 5)), true));
+
+        recordingService.stopRecording();
+        Path file = recordingService.dumpRecording();
+        List<RecordedEvent> events;
+        try {
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+
+        RecordedEvent request = find(events, "com.ecommerce.productManagement.ControllerRequest", "ProductController.getProductById");
+        assertEquals("/products/{id}", request.getString("path"));
+        assertEquals(id, request.getLong("id"));
+        assertEquals(200, request.getInt("status"));
+
+        RecordedEvent create = find(events, "com.ecommerce.productManagement.ServiceCall", "createProduct");
+        assertEquals("ProductService", create.getString("service"));
+        assertEquals(1, create.getLong("rowCount"));
+        assertFalse(create.getBoolean("failed"));
+
+        RecordedEvent range = find(events, "com.ecommerce.productManagement.ServiceCall", "getProductsByPriceRange");
+        assertTrue(range.getLong("rowCount") >= 1);
+
+        RecordedEvent read = find(events, "com.ecommerce.productManagement.RepositoryCall", "findById");
+        assertEquals("ProductRepository", read.getString("repository"));
+        assertEquals(id, read.getLong("id"));
+        assertEquals(1, read.getLong("rowCount"));
+        assertNull(read.getString("sql"));
+
+        RecordedEvent count = find(events, "com.ecommerce.productManagement.RepositoryCall", "queryForObject");
+        assertEquals("JdbcTemplate", count.getString("repository"));
+        assertTrue(count.getString("sql").startsWith("select count(*) from product"));
+
+        assertTrue(events.stream().map(event -> event.getEventType().getName())
+                .noneMatch(name -> name.equals("jdk.InitialEnvironmentVariable") || name.equals("jdk.InitialSystemProperty")));
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String type, String operation) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(type))
+                .filter(event -> operation.equals(event.getString("operation")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + type + " event for " + operation));
+    }
+}
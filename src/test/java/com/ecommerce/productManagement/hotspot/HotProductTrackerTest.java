@@ -0,0 +1,81 @@
+package com.ecommerce.productManagement.hotspot;
+
+import com.ecommerce.productManagement.model.AccessType;
+import com.ecommerce.productManagement.model.HotProduct;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the hot product tracker and the sketch behind it on synthetic access streams.
+ */
+public class HotProductTrackerTest {
+
+    /**
+     * Test case for the sketch, which may overcount an id but never undercounts it.
+     */
+    @Test
+    public void testSketchNeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(256, 4);
+        int[] counts = new int[5_000];
+        Random random = new Random(11);
+        for (int i = 0; i < 50_000; i++) {
+            int id = random.nextInt(counts.length);
+            counts[id]++;
+            sketch.increment(id);
+        }
+        for (int id = 0; id < counts.length; id++) {
+            assertTrue(sketch.estimate(id) >= counts[id], "id " + id);
+        }
+
+        sketch.decay(0.5);
+        assertTrue(sketch.estimate(1) >= counts[1] / 2.0 - 1);
+    }
+
+    /**
+     * Test case for a few hot ids hidden in a long tail of ids read once, with the top-k far smaller than the catalog.
+     */
+    @Test
+    public void testHotProductsAmongLongTail() {
+        HotProductTracker tracker = new HotProductTracker(1024, 4, 10, 60_000, 1_000);
+        Random random = new Random(3);
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 10 == 0) {
+                tracker.recordRead(7L);
+            } else if (i % 25 == 0) {
+                tracker.recordRead(42L);
+            } else {
+                tracker.recordRead(1_000 + random.nextInt(1_000_000));
+            }
+        }
+
+        List<HotProduct> hotProducts = tracker.getHotProducts(AccessType.READ, 2);
+        assertEquals(List.of(7L, 42L), hotProducts.stream().map(HotProduct::getId).toList());
+        assertTrue(tracker.isPinned(7L));
+        assertTrue(tracker.getHotProducts(AccessType.WRITE, 10).isEmpty());
+    }
+
+    /**
+     * Test case for the estimated rate of a steady stream of accesses, and for a product cooling down once it stops.
+     */
+    @Test
+    public void testRateAndDecay() {
+        HotProductTracker tracker = new HotProductTracker(1024, 4, 10, 10_000, 1_000);
+        for (int tick = 0; tick < 200; tick++) {
+            for (int i = 0; i < 20; i++) {
+                tracker.recordWrite(5L);
+            }
+            tracker.tick();
+        }
+        assertEquals(20.0, tracker.estimateRate(AccessType.WRITE, 5L), 0.5);
+        assertEquals(20.0, tracker.getHotProducts(AccessType.WRITE, 1).get(0).getRate(), 0.5);
+
+        for (int tick = 0; tick < 10; tick++) {
+            tracker.tick();
+        }
+        assertEquals(10.0, tracker.estimateRate(AccessType.WRITE, 5L), 0.5);
+    }
+}
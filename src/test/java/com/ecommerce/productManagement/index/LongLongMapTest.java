@@ -0,0 +1,42 @@
+package com.ecommerce.productManagement.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the primitive hash map against a {@link HashMap} holding the same entries.
+ */
+public class LongLongMapTest {
+
+    /**
+     * Test case for random puts and removes, with enough removals to exercise the backward shift of probe chains.
+     */
+    @Test
+    public void testRandomOperationsMatchHashMap() {
+        LongLongMap map = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(5_000) * 1024L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                long value = random.nextLong();
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 0; key < 5_000 * 1024L; key += 1024) {
+            assertEquals(expected.getOrDefault(key, -1L), map.get(key, -1L));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+    }
+}
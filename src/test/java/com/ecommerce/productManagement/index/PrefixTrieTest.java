@@ -0,0 +1,136 @@
+package com.ecommerce.productManagement.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the radix tree of names against a {@link TreeMap} holding the same entries.
+ */
+public class PrefixTrieTest {
+
+    private static final String[] WORDS = {"a", "ab", "abc", "apple", "app", "application", "b", "ban", "banana", "band"};
+
+    /**
+     * Test case for random inserts, renames and removes, checked through prefix queries in key order.
+     */
+    @Test
+    public void testRandomOperationsMatchTreeMap() {
+        PrefixTrie trie = new PrefixTrie();
+        TreeMap<String, Long> expected = new TreeMap<>();
+        Map<Long, String> keysById = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(500);
+            String key = WORDS[random.nextInt(WORDS.length)] + WORDS[random.nextInt(WORDS.length)];
+            String current = keysById.get(id);
+            if (random.nextInt(4) == 0) {
+                assertEquals(current == null ? PrefixTrie.NONE : 0, trie.remove(id));
+                if (current != null) {
+                    expected.remove(current + "#" + id);
+                    keysById.remove(id);
+                }
+            } else {
+                // Inserting an id moves it from the key it was stored under
+                if (current != null) {
+                    expected.remove(current + "#" + id);
+                }
+                trie.insert(key, id, key, 0);
+                expected.put(key + "#" + id, id);
+                keysById.put(id, key);
+            }
+        }
+        assertEquals(expected.size(), trie.size());
+
+        for (String prefix : new String[]{"", "a", "ap", "appl", "ban", "bana", "abcab", "c"}) {
+            List<Long> ids = new ArrayList<>();
+            trie.collectInKeyOrder(prefix, Integer.MAX_VALUE, (id, name, weight) -> {
+                assertTrue(name.startsWith(prefix));
+                ids.add(id);
+            });
+            List<Long> expectedIds = new ArrayList<>();
+            expected.entrySet().stream()
+                    .filter(entry -> entry.getKey().substring(0, entry.getKey().indexOf('#')).startsWith(prefix))
+                    .sorted(Comparator.comparing((Map.Entry<String, Long> entry) -> entry.getKey().substring(0, entry.getKey().indexOf('#')))
+                            .thenComparing(Map.Entry::getValue))
+                    .forEach(entry -> expectedIds.add(entry.getValue()));
+            assertEquals(expectedIds, ids, "prefix " + prefix);
+        }
+    }
+
+    /**
+     * Test case for ranking by weight, including weights that change after insertion.
+     */
+    @Test
+    public void testCollectByWeight() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.insert("apple", 1, "Apple", 5);
+        trie.insert("application", 2, "Application", 1);
+        trie.insert("apricot", 3, "Apricot", 9);
+        trie.insert("banana", 4, "Banana", 100);
+        trie.insert("app", 5, "App", 0);
+
+        assertEquals(List.of(3L, 1L), collectByWeight(trie, "ap", 2));
+
+        assertTrue(trie.addWeight(2, 20));
+        assertEquals(List.of(2L, 3L, 1L, 5L), collectByWeight(trie, "ap", 10));
+        assertEquals(List.of(2L, 1L), collectByWeight(trie, "appl", 10));
+
+        assertEquals(21, trie.remove(2));
+        assertEquals(List.of(3L, 1L, 5L), collectByWeight(trie, "ap", 10));
+        assertFalse(trie.addWeight(2, 1));
+        assertEquals(PrefixTrie.NONE, trie.weight(2));
+        assertEquals(List.of(), collectByWeight(trie, "c", 10));
+    }
+
+    /**
+     * Test case for removing every entry, which must leave a usable empty tree.
+     */
+    @Test
+    public void testRemoveAll() {
+        PrefixTrie trie = new PrefixTrie();
+        for (long id = 0; id < 1_000; id++) {
+            trie.insert("item " + id, id, "Item " + id, id);
+        }
+        for (long id = 0; id < 1_000; id++) {
+            assertEquals(id, trie.remove(id));
+        }
+        assertEquals(0, trie.size());
+        assertEquals(PrefixTrie.NONE, trie.remove(1));
+        assertEquals(0, trie.collectInKeyOrder("", 10, (id, name, weight) -> fail()));
+
+        trie.insert("item", 1, "Item", 0);
+        assertEquals(List.of(1L), collectByWeight(trie, "it", 10));
+    }
+
+    /**
+     * Test case for moving an id to another key, which must carry its name and weight along.
+     */
+    @Test
+    public void testInsertMovesId() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.insert("apple", 1, "Apple", 5);
+        trie.insert("banana", 1, "Banana", 7);
+
+        assertEquals(1, trie.size());
+        assertEquals("Banana", trie.name(1));
+        assertEquals(7, trie.weight(1));
+        assertEquals(List.of(), collectByWeight(trie, "a", 10));
+        assertEquals(List.of(1L), collectByWeight(trie, "b", 10));
+    }
+
+    private static List<Long> collectByWeight(PrefixTrie trie, String prefix, int limit) {
+        List<Long> ids = new ArrayList<>();
+        trie.collectByWeight(prefix, limit, (id, name, weight) -> ids.add(id));
+        return ids;
+    }
+}
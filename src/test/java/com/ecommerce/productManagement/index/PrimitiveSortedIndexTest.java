@@ -0,0 +1,91 @@
+package com.ecommerce.productManagement.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the block based sorted index against a {@link TreeSet} holding the same entries.
+ */
+public class PrimitiveSortedIndexTest {
+
+    private static final Comparator<long[]> ORDER = Comparator.<long[]>comparingLong(entry -> entry[0])
+            .thenComparingLong(entry -> entry[1]);
+
+    /**
+     * Test case for random inserts and removes spanning many blocks.
+     */
+    @Test
+    public void testRandomOperationsMatchTreeSet() {
+        PrimitiveSortedIndex index = new PrimitiveSortedIndex();
+        TreeSet<long[]> expected = new TreeSet<>(ORDER);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(500);
+            long id = random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(new long[]{key, id}), index.remove(key, id));
+            } else {
+                expected.add(new long[]{key, id});
+                index.insert(key, id);
+            }
+        }
+        assertEquals(expected.size(), index.size());
+
+        long[] out = new long[expected.size()];
+        int count = index.scanAscending(100, 200, out, out.length);
+        List<Long> expectedIds = new ArrayList<>();
+        for (long[] entry : expected.subSet(new long[]{100, Long.MIN_VALUE}, true, new long[]{200, Long.MAX_VALUE}, true)) {
+            expectedIds.add(entry[1]);
+        }
+        assertEquals(expectedIds.size(), count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expectedIds.get(i), out[i]);
+        }
+
+        count = index.scanDescending(100, 200, out, 25);
+        assertEquals(25, count);
+        for (int i = 0; i < count; i++) {
+            assertEquals(expectedIds.get(expectedIds.size() - 1 - i), out[i]);
+        }
+    }
+
+    /**
+     * Test case for removing every entry, which must leave a usable empty index.
+     */
+    @Test
+    public void testRemoveAll() {
+        PrimitiveSortedIndex index = new PrimitiveSortedIndex();
+        for (long id = 0; id < 10_000; id++) {
+            index.insert(id % 7, id);
+        }
+        for (long id = 0; id < 10_000; id++) {
+            assertTrue(index.remove(id % 7, id));
+        }
+        assertEquals(0, index.size());
+        assertEquals(0, index.scanAscending(Long.MIN_VALUE, Long.MAX_VALUE, new long[10], 10));
+
+        index.insert(3, 1);
+        long[] out = new long[1];
+        assertEquals(1, index.scanDescending(Long.MIN_VALUE, Long.MAX_VALUE, out, 1));
+        assertEquals(1, out[0]);
+    }
+
+    /**
+     * Test case for the price encoding, which must keep the numeric order of doubles.
+     */
+    @Test
+    public void testEncodePriceKeepsOrder() {
+        double[] prices = {-10.5, -0.0, 0.0, 0.01, 99.99, 100.0, 1e12};
+        for (int i = 1; i < prices.length; i++) {
+            assertTrue(ProductIndex.encodePrice(prices[i - 1]) < ProductIndex.encodePrice(prices[i]));
+        }
+    }
+}
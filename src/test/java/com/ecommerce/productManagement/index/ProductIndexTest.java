@@ -0,0 +1,128 @@
+package com.ecommerce.productManagement.index;
+
+import com.ecommerce.productManagement.model.ProductStockView;
+import com.ecommerce.productManagement.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * This class tests that the price and stock index keeps a single entry per product at its latest version,
+ * and its loading.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductIndex productIndex;
+
+    @BeforeEach
+    public void setUp() {
+        productIndex = new ProductIndex(productRepository);
+    }
+
+    /**
+     * Test case for two updates of the same product, which must leave it indexed once under the last values.
+     */
+    @Test
+    public void testPutMovesFromIndexedValues() {
+        assertNull(productIndex.put(1L, 100.0, 10, 0));
+        assertEquals(new ProductIndex.Stock(100.0, 10), productIndex.put(1L, 120.0, 10, 1));
+        assertEquals(new ProductIndex.Stock(120.0, 10), productIndex.put(1L, 130.0, 3, 2));
+
+        assertEquals(1, productIndex.size());
+        assertArrayEquals(new long[]{1L}, productIndex.findByPriceRange(0, 1000, 10, false));
+        assertArrayEquals(new long[0], productIndex.findByPriceRange(100, 125, 10, false));
+        assertArrayEquals(new long[]{1L}, productIndex.findByQuantityBelow(5, 10));
+
+        assertEquals(new ProductIndex.Stock(130.0, 3), productIndex.remove(1L));
+        assertNull(productIndex.remove(1L));
+        assertEquals(0, productIndex.size());
+    }
+
+    /**
+     * Test case for changes applied out of order, such as a repriced value arriving after a user update,
+     * which must be ignored, as must a change arriving after the deletion.
+     */
+    @Test
+    public void testStaleChangesIgnored() {
+        productIndex.put(1L, 100.0, 10, 0);
+        productIndex.put(1L, 90.0, 10, 2);
+
+        assertSame(ProductIndex.STALE, productIndex.put(1L, 110.0, 10, 1));
+        assertEquals(90.0, productIndex.maxPrice());
+
+        productIndex.remove(1L);
+        assertSame(ProductIndex.STALE, productIndex.put(1L, 80.0, 10, 3));
+        assertEquals(0, productIndex.size());
+    }
+
+    /**
+     * Test case for the loading, which must index what the database holds.
+     */
+    @Test
+    public void testLoad() {
+        when(productRepository.findStockAfter(eq(0L), any())).thenReturn(List.of(stock(1L, 110.0, 10, 0), stock(3L, 70.0, 1, 4)));
+
+        productIndex.load();
+
+        assertEquals(2, productIndex.size());
+        assertArrayEquals(new long[]{3L, 1L}, productIndex.findByPriceRange(0, 1000, 10, false));
+        assertEquals(70.0, productIndex.minPrice());
+        assertEquals(110.0, productIndex.maxPrice());
+    }
+
+    /**
+     * Test case for changes made while the database is read, which must win over the older values read.
+     */
+    @Test
+    public void testChangesDuringLoadAreKept() {
+        when(productRepository.findStockAfter(eq(0L), any())).thenAnswer(invocation -> {
+            productIndex.put(1L, 100.0, 10, 1);
+            productIndex.put(2L, 80.0, 4, 3);
+            productIndex.remove(3L);
+            return List.of(stock(1L, 90.0, 10, 0), stock(2L, 75.0, 4, 2), stock(3L, 60.0, 1, 0));
+        });
+
+        productIndex.load();
+
+        assertEquals(2, productIndex.size());
+        assertEquals(80.0, productIndex.minPrice());
+        assertEquals(100.0, productIndex.maxPrice());
+    }
+
+    private static ProductStockView stock(long id, double price, int quantity, long version) {
+        return new ProductStockView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public double getPrice() {
+                return price;
+            }
+
+            @Override
+            public int getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.productManagement.index;
+
+import com.ecommerce.productManagement.model.ProductNameView;
+import com.ecommerce.productManagement.model.ProductSuggestion;
+import com.ecommerce.productManagement.model.SuggestionOrder;
+import com.ecommerce.productManagement.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * This class tests that the name index keeps a single name per product with its popularity, and ignores the changes arriving out of order.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ProductNameIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductNameIndex productNameIndex;
+
+    @BeforeEach
+    public void setUp() {
+        productNameIndex = new ProductNameIndex(productRepository);
+    }
+
+    /**
+     * Test case for views counted before a rename and flushed after it, which must follow the product.
+     */
+    @Test
+    public void testViewsFollowRename() {
+        productNameIndex.put(1L, "Mobile", 0);
+        productNameIndex.recordView(1L);
+        productNameIndex.recordView(1L);
+        productNameIndex.put(1L, "Phone", 1);
+        productNameIndex.put(1L, "Smartphone", 2);
+
+        productNameIndex.flushViews();
+
+        assertEquals(1, productNameIndex.size());
+        assertEquals(List.of(), productNameIndex.suggest("mob", 10, SuggestionOrder.POPULARITY));
+        assertEquals(List.of(new ProductSuggestion(1L, "Smartphone", 2)),
+                productNameIndex.suggest("smart", 10, SuggestionOrder.POPULARITY));
+
+        productNameIndex.remove(1L);
+        assertEquals(0, productNameIndex.size());
+    }
+
+    /**
+     * Test case for renames arriving out of order, where the older name must not replace the newer one.
+     */
+    @Test
+    public void testStaleRenameIgnored() {
+        productNameIndex.put(1L, "Mobile", 0);
+        productNameIndex.put(1L, "Smartphone", 2);
+        productNameIndex.put(1L, "Phone", 1);
+
+        assertEquals(List.of(), productNameIndex.suggest("phone", 10, SuggestionOrder.ALPHABETICAL));
+        assertEquals(List.of(new ProductSuggestion(1L, "Smartphone", 0)),
+                productNameIndex.suggest("smart", 10, SuggestionOrder.ALPHABETICAL));
+    }
+
+    /**
+     * Test case for a rename arriving after the deletion of the product, which must not bring it back.
+     */
+    @Test
+    public void testRenameAfterDeleteIgnored() {
+        productNameIndex.put(1L, "Mobile", 0);
+        productNameIndex.remove(1L);
+        productNameIndex.put(1L, "Phone", 1);
+
+        assertEquals(0, productNameIndex.size());
+    }
+
+    /**
+     * Test case for the load at startup, which must keep a name indexed meanwhile at a later version.
+     */
+    @Test
+    public void testLoadKeepsNewerNames() {
+        productNameIndex.put(1L, "Mobile Phone", 3);
+        when(productRepository.findNamesAfter(eq(0L), any()))
+                .thenReturn(List.of(name(1L, "Mobile", 2), name(2L, "Laptop", 0)));
+
+        productNameIndex.load();
+
+        assertEquals(List.of(new ProductSuggestion(1L, "Mobile Phone", 0)),
+                productNameIndex.suggest("m", 10, SuggestionOrder.ALPHABETICAL));
+        assertEquals(List.of(new ProductSuggestion(2L, "Laptop", 0)),
+                productNameIndex.suggest("lap", 10, SuggestionOrder.ALPHABETICAL));
+    }
+
+    private static ProductNameView name(long id, String name, long version) {
+        return new ProductNameView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public long getVersion() {
+                return version;
+            }
+        };
+    }
+}
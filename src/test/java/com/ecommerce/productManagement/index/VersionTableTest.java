@@ -0,0 +1,45 @@
+package com.ecommerce.productManagement.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests that the version table accepts only newer changes and forgets the oldest deletions.
+ */
+public class VersionTableTest {
+
+    /**
+     * Test case for changes of one id arriving out of order.
+     */
+    @Test
+    public void testOnlyNewerVersionsAccepted() {
+        VersionTable versions = new VersionTable(10);
+
+        assertTrue(versions.advance(1L, 0));
+        assertTrue(versions.advance(1L, 2));
+        assertFalse(versions.advance(1L, 1));
+        assertFalse(versions.advance(1L, 2));
+        assertTrue(versions.advance(2L, 1));
+    }
+
+    /**
+     * Test case for deletions, which reject every later change until the tombstone is forgotten.
+     */
+    @Test
+    public void testTombstonesBounded() {
+        VersionTable versions = new VersionTable(2);
+        versions.advance(1L, 5);
+
+        assertTrue(versions.delete(1L));
+        assertFalse(versions.delete(1L));
+        assertFalse(versions.advance(1L, 6));
+
+        versions.delete(2L);
+        versions.delete(3L);
+
+        assertTrue(versions.advance(1L, 6));
+        assertFalse(versions.advance(2L, 0));
+        assertFalse(versions.advance(3L, 0));
+    }
+}
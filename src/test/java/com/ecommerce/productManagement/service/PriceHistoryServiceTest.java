@@ -0,0 +1,199 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.ProductManagementApplication;
+import com.ecommerce.productManagement.model.PriceBucket;
+import com.ecommerce.productManagement.model.PriceHistoryBlock;
+import com.ecommerce.productManagement.model.PricePoint;
+import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.repository.PriceHistoryBlockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests recording and reading back the price history against the in-memory database.
+ * The scheduled flush is pushed out of the way, the tests flush explicitly.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:priceHistory;DB_CLOSE_DELAY=-1",
+        "price-history.flush-interval-ms=3600000",
+        "security.admin.password=secret"
+})
+public class PriceHistoryServiceTest {
+
+    private static final Instant FAR_FUTURE = Instant.parse("2100-01-01T00:00:00Z");
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PriceHistoryBlockRepository priceHistoryBlockRepository;
+
+    @BeforeEach
+    public void setUp() {
+        priceHistoryService.flush();
+        priceHistoryBlockRepository.deleteAll();
+    }
+
+    /**
+     * Test case for the history written by product creation and updates.
+     */
+    @Test
+    public void testProductChangesAreRecorded() {
+        Product product = productService.createProduct(new Product(null, "Mobile", 100.0, "Mobile Description", 10));
+        Long id = product.getId();
+        productService.updateProduct(id, new Product(id, "Mobile", 89.99, "Mobile Description", 10));
+        productService.updateProduct(id, new Product(id, "Mobile Phone", 89.99, "Mobile Description", 10));
+        productService.updateProduct(id, new Product(id, "Mobile Phone", 89.99, "Mobile Description", 3));
+
+        assertTrue(priceHistoryBlockRepository.findBlocksInRange(id, 0, Long.MAX_VALUE).isEmpty());
+        assertEquals(3, priceHistoryService.getPriceHistory(id, Instant.EPOCH, FAR_FUTURE).size());
+        priceHistoryService.flush();
+
+        List<PricePoint> history = priceHistoryService.getPriceHistory(id, Instant.EPOCH, FAR_FUTURE);
+        assertEquals(1, priceHistoryBlockRepository.findBlocksInRange(id, 0, Long.MAX_VALUE).size());
+
+        assertEquals(3, history.size());
+        assertEquals(100.0, history.get(0).getPrice());
+        assertEquals(10, history.get(0).getQuantity());
+        assertEquals(89.99, history.get(1).getPrice());
+        assertEquals(3, history.get(2).getQuantity());
+        assertFalse(history.get(1).getTimestamp().isBefore(history.get(0).getTimestamp()));
+    }
+
+    /**
+     * Test case for a history spanning several blocks, including price drops and negative deltas.
+     */
+    @Test
+    public void testHistorySpansSeveralBlocks() {
+        long productId = 1_000_001L;
+        int points = 2 * PriceHistoryCodec.POINTS_PER_BLOCK + 44;
+        for (int i = 0; i < points; i++) {
+            priceHistoryService.record(productId, 50.0 + (i % 7) * 1.25 - (i % 3) * 0.01, 100 - i % 11);
+            if (i % 100 == 0) {
+                priceHistoryService.flush();
+            }
+        }
+        priceHistoryService.flush();
+
+        List<PriceHistoryBlock> blocks = priceHistoryBlockRepository.findBlocksInRange(productId, 0, Long.MAX_VALUE);
+        assertEquals(3, blocks.size());
+        assertEquals(PriceHistoryCodec.POINTS_PER_BLOCK, blocks.get(0).getPointCount());
+        assertEquals(44, blocks.get(2).getPointCount());
+        assertTrue(blocks.get(0).getData().length < PriceHistoryCodec.POINTS_PER_BLOCK * 10);
+
+        List<PricePoint> history = priceHistoryService.getPriceHistory(productId, Instant.EPOCH, FAR_FUTURE);
+        assertEquals(points, history.size());
+        for (int i = 0; i < points; i++) {
+            assertEquals(50.0 + (i % 7) * 1.25 - (i % 3) * 0.01, history.get(i).getPrice(), 1e-9);
+            assertEquals(100 - i % 11, history.get(i).getQuantity());
+        }
+    }
+
+    /**
+     * Test case for grouping the history into buckets.
+     */
+    @Test
+    public void testDownsampledPriceHistory() {
+        long productId = 1_000_002L;
+        double[] prices = {20.0, 25.5, 18.0, 22.0};
+        for (double price : prices) {
+            priceHistoryService.record(productId, price, 5);
+        }
+
+        List<PriceBucket> buckets = priceHistoryService.getDownsampledPriceHistory(productId, Instant.EPOCH,
+                FAR_FUTURE, Duration.ofDays(365_000));
+
+        assertEquals(1, buckets.size());
+        PriceBucket bucket = buckets.get(0);
+        assertEquals(Instant.EPOCH, bucket.getBucketStart());
+        assertEquals(20.0, bucket.getOpen());
+        assertEquals(25.5, bucket.getHigh());
+        assertEquals(18.0, bucket.getLow());
+        assertEquals(22.0, bucket.getClose());
+        assertEquals(4, bucket.getChanges());
+        assertTrue(priceHistoryService.getPriceHistory(productId, Instant.EPOCH, Instant.EPOCH.plusSeconds(1)).isEmpty());
+    }
+
+    /**
+     * Test case for points appended out of time order, as instances flushing at different times do,
+     * which must still be found by range and read back in time order.
+     */
+    @Test
+    public void testOutOfOrderPoints() {
+        long productId = 1_000_003L;
+        PriceHistoryBlock block = PriceHistoryCodec.newBlock(productId, 2_000);
+        PriceHistoryCodec.append(block, 2_000, 20.0, 2);
+        PriceHistoryCodec.append(block, 1_000, 10.0, 1);
+        PriceHistoryCodec.append(block, 3_000, 30.0, 3);
+        priceHistoryBlockRepository.save(block);
+
+        assertEquals(1, priceHistoryBlockRepository.findBlocksInRange(productId, 500, 1_500).size());
+        assertEquals(1, priceHistoryBlockRepository.findBlocksInRange(productId, 2_500, 3_500).size());
+        List<PricePoint> history = priceHistoryService.getPriceHistory(productId, Instant.EPOCH, FAR_FUTURE);
+        assertEquals(List.of(10.0, 20.0, 30.0), history.stream().map(PricePoint::getPrice).toList());
+        assertEquals(Instant.ofEpochMilli(1_000), history.get(0).getTimestamp());
+    }
+
+    /**
+     * Test case for a flush failing on the database, whose points must be appended by the next flush.
+     */
+    @Test
+    public void testFailedFlushKeepsPoints() {
+        PriceHistoryBlockRepository repository = mock(PriceHistoryBlockRepository.class);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(repository.findOpenBlocks(any(), anyInt()))
+                .thenThrow(new DataAccessResourceFailureException("Database unavailable"))
+                .thenReturn(List.of());
+        PriceHistoryService service = new PriceHistoryService(repository, transactionTemplate);
+        service.record(1L, 10.0, 1);
+
+        service.flush();
+        verify(repository, never()).saveAll(any());
+        assertEquals(1, service.getPriceHistory(1L, Instant.EPOCH, FAR_FUTURE).size());
+
+        service.flush();
+        verify(repository).saveAll(argThat(blocks -> blocks.iterator().next().getPointCount() == 1));
+    }
+
+    /**
+     * Test case for the points still buffered when the application stops, which must be flushed.
+     */
+    @Test
+    public void testShutdownFlushes() {
+        String[] args = {"--spring.datasource.url=jdbc:h2:mem:priceHistoryShutdown;DB_CLOSE_DELAY=-1",
+                "--server.port=0", "--logging.level.root=INFO", "--spring.jpa.show-sql=false",
+                "--price-history.flush-interval-ms=3600000", "--security.admin.password=secret"};
+        long productId = 1_000_004L;
+        try (ConfigurableApplicationContext first = new SpringApplicationBuilder(ProductManagementApplication.class).run(args)) {
+            first.getBean(PriceHistoryService.class).record(productId, 10.0, 1);
+        }
+        try (ConfigurableApplicationContext second = new SpringApplicationBuilder(ProductManagementApplication.class).run(args)) {
+            assertEquals(1, second.getBean(PriceHistoryBlockRepository.class)
+                    .findBlocksInRange(productId, 0, Long.MAX_VALUE).size());
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.ecommerce.productManagement.service;
 
+import com.ecommerce.productManagement.aggregate.CatalogAggregates;
+import com.ecommerce.productManagement.cache.EncodedProduct;
+import com.ecommerce.productManagement.cache.ProductChange;
+import com.ecommerce.productManagement.cache.ProductNearCache;
+import com.ecommerce.productManagement.cache.ProductResponseEncoder;
 import com.ecommerce.productManagement.exception.ProductNotFoundException;
+import com.ecommerce.productManagement.hotspot.HotProductTracker;
+import com.ecommerce.productManagement.index.ProductIndex;
+import com.ecommerce.productManagement.index.ProductNameIndex;
+import com.ecommerce.productManagement.model.AccessType;
+import com.ecommerce.productManagement.model.HotProduct;
 import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.ProductSuggestion;
+import com.ecommerce.productManagement.model.SuggestionOrder;
 import com.ecommerce.productManagement.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +42,27 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductIndex productIndex;
+
+    @Mock
+    private CatalogAggregates catalogAggregates;
+
+    @Mock
+    private ProductNearCache productNearCache;
+
+    @Mock
+    private PriceHistoryService priceHistoryService;
+
+    @Mock
+    private ProductNameIndex productNameIndex;
+
+    @Mock
+    private ProductResponseEncoder productResponseEncoder;
+
+    @Mock
+    private HotProductTracker hotProductTracker;
+
     @InjectMocks
     private ProductService productService;
 
@@ -49,6 +85,52 @@ public class ProductServiceTest {
         assertTrue(result.isPresent());
         assertEquals("Mobile", result.get().getName());
         verify(productRepository, times(1)).findById(1L);
+        verify(productNearCache, times(1)).putIfUnchanged(eq(1L), eq(product), anyLong());
+        verify(productNameIndex, times(1)).recordView(1L);
+        verify(hotProductTracker, times(1)).recordRead(1L);
+    }
+
+    /**
+     * Test case for retrieving a product by ID when the product is in the near-cache.
+     */
+    @Test
+    public void testGetProductById_Cached() {
+        when(productNearCache.get(1L)).thenReturn(Optional.of(product));
+
+        Optional<Product> result = productService.getProductById(1L);
+
+        assertTrue(result.isPresent());
+        verify(productRepository, never()).findById(anyLong());
+    }
+
+    /**
+     * Test case for retrieving an encoded product whose body is already cached, which must skip the database.
+     */
+    @Test
+    public void testGetEncodedProductById_Cached() {
+        EncodedProduct encoded = new EncodedProduct(new byte[]{'{', '}'}, null);
+        when(productNearCache.getEncoded(eq(1L), any())).thenReturn(Optional.of(encoded));
+
+        Optional<EncodedProduct> result = productService.getEncodedProductById(1L);
+
+        assertSame(encoded, result.orElseThrow());
+        verify(productRepository, never()).findById(anyLong());
+        verify(productNameIndex, times(1)).recordView(1L);
+        verify(hotProductTracker, times(1)).recordRead(1L);
+    }
+
+    /**
+     * Test case for retrieving an encoded product on a cache miss, encoded from the database read.
+     */
+    @Test
+    public void testGetEncodedProductById_Miss() {
+        EncodedProduct encoded = new EncodedProduct(new byte[]{'{', '}'}, null);
+        when(productNearCache.getEncoded(eq(1L), any())).thenReturn(Optional.empty());
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productResponseEncoder.encode(product)).thenReturn(encoded);
+
+        assertSame(encoded, productService.getEncodedProductById(1L).orElseThrow());
+        verify(productNearCache, times(1)).putIfUnchanged(eq(1L), eq(product), anyLong());
     }
 
     /**
@@ -92,6 +174,37 @@ public class ProductServiceTest {
         assertNotNull(result);
         assertEquals("Mobile", result.getName());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productIndex, times(1)).put(1L, 100.0, 10, 0);
+        verify(catalogAggregates, times(1)).add(1L, 100.0, 10);
+        verify(productNameIndex, times(1)).put(1L, "Mobile", 0);
+        verify(productNearCache, times(1)).invalidate(ProductChange.saved(product));
+        verify(priceHistoryService, times(1)).record(1L, 100.0, 10);
+        verify(hotProductTracker, times(1)).recordWrite(1L);
+    }
+
+    /**
+     * Test case for the changes made by another instance being applied to the indexes and aggregates,
+     * except the changes older than the ones indexed.
+     */
+    @Test
+    public void testRemoteChangesIndexed() {
+        ArgumentCaptor<Consumer<List<ProductChange>>> listener = ArgumentCaptor.captor();
+        productService.subscribe();
+        verify(productNearCache).onRemoteChanges(listener.capture());
+        when(productIndex.put(1L, 120.0, 10, 1)).thenReturn(new ProductIndex.Stock(100.0, 10));
+        when(productIndex.remove(2L)).thenReturn(new ProductIndex.Stock(50.0, 0));
+        when(productIndex.put(3L, 30.0, 1, 1)).thenReturn(ProductIndex.STALE);
+
+        listener.getValue().accept(List.of(new ProductChange(1L, null, 120.0, 10, 1, false), ProductChange.deleted(2L),
+                new ProductChange(3L, null, 30.0, 1, 1, false)));
+
+        verify(catalogAggregates, times(1)).update(1L, 100.0, 10, 120.0, 10);
+        verify(catalogAggregates, times(1)).remove(2L, 50.0, 0);
+        verify(catalogAggregates, never()).add(eq(3L), anyDouble(), anyInt());
+        verify(catalogAggregates, never()).update(eq(3L), anyDouble(), anyInt(), anyDouble(), anyInt());
+        verify(productNameIndex, times(1)).remove(2L);
+        verify(productNameIndex, never()).put(anyLong(), any(), anyLong());
+        verifyNoInteractions(productRepository, priceHistoryService);
     }
 
     /**
@@ -101,17 +214,56 @@ public class ProductServiceTest {
     public void testUpdateProduct_Success() {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
         when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productIndex.put(1L, 120.0, 10, 0)).thenReturn(new ProductIndex.Stock(90.0, 10));
 
-        product.setName("Laptop");
-        product.setPrice(120.0);
+        Product updatedProduct = new Product(1L, "Laptop", 120.0, "Laptop Description", 10);
 
-        Product result = productService.updateProduct(1L, product);
+        Product result = productService.updateProduct(1L, updatedProduct);
 
         assertNotNull(result);
         assertEquals("Laptop", result.getName());
         assertEquals(120.0, result.getPrice());
         verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productIndex, times(1)).put(1L, 120.0, 10, 0);
+        verify(catalogAggregates, times(1)).update(1L, 90.0, 10, 120.0, 10);
+        verify(productNameIndex, times(1)).put(1L, "Laptop", 0);
+        verify(productNearCache, times(1)).invalidate(new ProductChange(1L, "Laptop", 120.0, 10, 0, false));
+        verify(priceHistoryService, times(1)).record(1L, 120.0, 10);
+        verify(hotProductTracker, times(1)).recordWrite(1L);
+    }
+
+    /**
+     * Test case for update existing product when neither price nor quantity changed.
+     */
+    @Test
+    public void testUpdateProduct_NameOnly() {
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        when(productRepository.save(any(Product.class))).thenReturn(product);
+
+        productService.updateProduct(1L, new Product(1L, "Phone", 100.0, "Phone Description", 10));
+
+        verify(productNearCache, times(1)).invalidate(new ProductChange(1L, "Phone", 100.0, 10, 0, false));
+        verifyNoInteractions(priceHistoryService);
+    }
+
+    /**
+     * Test case for update existing product when someone else changed it meanwhile, applied again to its latest state.
+     */
+    @Test
+    public void testUpdateProduct_RetriedOnConcurrentChange() {
+        Product latest = new Product(1L, "Mobile", 90.0, "Mobile Description", 10, 1);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(product), Optional.of(latest));
+        when(productRepository.save(any(Product.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Product.class, 1L))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        Product result = productService.updateProduct(1L, new Product(1L, "Laptop", 120.0, "Laptop Description", 10));
+
+        assertEquals(120.0, result.getPrice());
+        assertEquals(1, result.getVersion());
+        verify(productRepository, times(2)).save(any(Product.class));
+        verify(productNearCache, times(1)).invalidate(new ProductChange(1L, "Laptop", 120.0, 10, 1, false));
     }
 
     /**
@@ -130,13 +282,19 @@ public class ProductServiceTest {
      */
     @Test
     public void testDeleteProduct_Found() {
-        when(productRepository.existsById(anyLong())).thenReturn(true);
+        when(productRepository.findById(anyLong())).thenReturn(Optional.of(product));
+        when(productIndex.remove(1L)).thenReturn(new ProductIndex.Stock(100.0, 10));
 
         boolean result = productService.deleteProduct(1L);
 
         assertTrue(result);
-        verify(productRepository, times(1)).existsById(1L);
+        verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(1)).deleteById(1L);
+        verify(productIndex, times(1)).remove(1L);
+        verify(catalogAggregates, times(1)).remove(1L, 100.0, 10);
+        verify(productNameIndex, times(1)).remove(1L);
+        verify(productNearCache, times(1)).invalidate(ProductChange.deleted(1L));
+        verify(hotProductTracker, times(1)).recordWrite(1L);
     }
 
     /**
@@ -144,12 +302,67 @@ public class ProductServiceTest {
      */
     @Test
     public void testDeleteProduct_NotFound() {
-        when(productRepository.existsById(anyLong())).thenReturn(false);
+        when(productRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         boolean result = productService.deleteProduct(1L);
 
         assertFalse(result);
-        verify(productRepository, times(1)).existsById(1L);
+        verify(productRepository, times(1)).findById(1L);
         verify(productRepository, times(0)).deleteById(1L);
+        verifyNoInteractions(productIndex, catalogAggregates, hotProductTracker);
+    }
+
+    /**
+     * Test case for retrieving products by price range, in the order given by the index.
+     */
+    @Test
+    public void testGetProductsByPriceRange() {
+        Product laptop = new Product(2L, "Laptop", 1500.0, "Laptop Description", 5);
+        when(productIndex.findByPriceRange(50.0, 2000.0, 10, true)).thenReturn(new long[]{2L, 1L});
+        when(productRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(product, laptop));
+
+        List<Product> result = productService.getProductsByPriceRange(50.0, 2000.0, 10, true);
+
+        assertEquals(2, result.size());
+        assertEquals("Laptop", result.get(0).getName());
+        assertEquals("Mobile", result.get(1).getName());
+    }
+
+    /**
+     * Test case for retrieving products with low stock, skipping ids no longer in the database.
+     */
+    @Test
+    public void testGetProductsWithQuantityBelow() {
+        when(productIndex.findByQuantityBelow(20, 10)).thenReturn(new long[]{1L, 3L});
+        when(productRepository.findAllById(List.of(1L, 3L))).thenReturn(List.of(product));
+
+        List<Product> result = productService.getProductsWithQuantityBelow(20, 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Mobile", result.get(0).getName());
+    }
+
+    /**
+     * Test case for name suggestions, served by the name index.
+     */
+    @Test
+    public void testGetSuggestions() {
+        List<ProductSuggestion> suggestions = List.of(new ProductSuggestion(1L, "Mobile", 3));
+        when(productNameIndex.suggest("mob", 10, SuggestionOrder.POPULARITY)).thenReturn(suggestions);
+
+        assertEquals(suggestions, productService.getSuggestions("mob", 10, SuggestionOrder.POPULARITY));
+        verifyNoInteractions(productRepository);
+    }
+
+    /**
+     * Test case for the hot products, served by the hot product tracker.
+     */
+    @Test
+    public void testGetHotProducts() {
+        List<HotProduct> hotProducts = List.of(new HotProduct(1L, 12.5));
+        when(hotProductTracker.getHotProducts(AccessType.WRITE, 5)).thenReturn(hotProducts);
+
+        assertEquals(hotProducts, productService.getHotProducts(AccessType.WRITE, 5));
+        verifyNoInteractions(productRepository);
     }
 }
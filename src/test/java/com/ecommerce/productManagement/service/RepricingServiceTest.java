@@ -0,0 +1,204 @@
+package com.ecommerce.productManagement.service;
+
+import com.ecommerce.productManagement.aggregate.CatalogAggregates;
+import com.ecommerce.productManagement.exception.InvalidRepricingRuleException;
+import com.ecommerce.productManagement.index.ProductIndex;
+import com.ecommerce.productManagement.model.PriceAdjustment;
+import com.ecommerce.productManagement.model.Product;
+import com.ecommerce.productManagement.model.RepricingChunk;
+import com.ecommerce.productManagement.model.RepricingJob;
+import com.ecommerce.productManagement.model.RepricingRequest;
+import com.ecommerce.productManagement.model.RepricingRule;
+import com.ecommerce.productManagement.model.RepricingStatus;
+import com.ecommerce.productManagement.repository.ProductRepository;
+import com.ecommerce.productManagement.repository.RepricingChunkRepository;
+import com.ecommerce.productManagement.repository.RepricingJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the set-based repricing against the in-memory database, with chunks of three ids.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:repricing;DB_CLOSE_DELAY=-1",
+        "repricing.chunk-size=3",
+        "repricing.parallelism=2",
+        "security.admin.password=secret"
+})
+public class RepricingServiceTest {
+
+    @Autowired
+    private RepricingService repricingService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RepricingJobRepository repricingJobRepository;
+
+    @Autowired
+    private RepricingChunkRepository repricingChunkRepository;
+
+    @Autowired
+    private ProductIndex productIndex;
+
+    @Autowired
+    private CatalogAggregates catalogAggregates;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        for (Product product : productRepository.findAll()) {
+            productService.deleteProduct(product.getId());
+        }
+        ids.clear();
+        for (int i = 1; i <= 10; i++) {
+            ids.add(productService.createProduct(new Product(null, "Product " + i, i * 200.0, "Description", i)).getId());
+        }
+    }
+
+    /**
+     * Test case for a dry run, which counts the matching products without changing them.
+     */
+    @Test
+    public void testDryRun() {
+        RepricingJob job = repricingService.startRepricing(request(true, new RepricingRule(null, 1000.0, PriceAdjustment.PERCENT, 5)));
+
+        assertEquals(RepricingStatus.DRY_RUN, job.getStatus());
+        assertEquals(4, job.getMatchedRows());
+        assertNull(job.getId());
+        assertEquals(200.0, productRepository.findById(ids.get(0)).orElseThrow().getPrice());
+    }
+
+    /**
+     * Test case for a rule table, where the first matching rule is applied to each product.
+     */
+    @Test
+    public void testRepricing() throws InterruptedException {
+        RepricingJob job = repricingService.startRepricing(request(false,
+                new RepricingRule(null, 1000.0, PriceAdjustment.PERCENT, 5),
+                new RepricingRule(1000.0, 1500.0, PriceAdjustment.AMOUNT, -100),
+                new RepricingRule(1800.0, null, PriceAdjustment.SET, 999)));
+
+        RepricingJob finished = awaitEnd(job.getId());
+
+        assertEquals(RepricingStatus.COMPLETED, finished.getStatus());
+        assertEquals(4, finished.getTotalChunks());
+        assertEquals(4, finished.getCompletedChunks());
+        assertEquals(9, finished.getUpdatedRows());
+        assertEquals(210.0, price(0));
+        assertEquals(840.0, price(3));
+        assertEquals(900.0, price(4));
+        assertEquals(1100.0, price(5));
+        assertEquals(1300.0, price(6));
+        assertEquals(1600.0, price(7));
+        assertEquals(999.0, price(8));
+        assertEquals(999.0, price(9));
+        assertEquals(210.0, productIndex.minPrice());
+        assertEquals(1600.0, productIndex.maxPrice());
+        assertEquals(210.0, productService.getProductById(ids.get(0)).orElseThrow().getPrice());
+        double expectedValue = productRepository.findAll().stream().mapToDouble(p -> p.getPrice() * p.getQuantity()).sum();
+        assertEquals(expectedValue, catalogAggregates.getSummary().getTotalStockValue(), 1e-6);
+    }
+
+    /**
+     * Test case for resuming a failed job, which must skip the chunks already applied.
+     */
+    @Test
+    public void testResume() throws InterruptedException {
+        RepricingJob job = repricingService.startRepricing(request(true, new RepricingRule(null, null, PriceAdjustment.SET, 50)));
+        job.setStatus(RepricingStatus.FAILED);
+        RepricingJob failedJob = repricingJobRepository.save(job);
+        repricingChunkRepository.save(new RepricingChunk(null, failedJob.getId(), 0, 3));
+        repricingJobRepository.recordChunk(failedJob.getId(), 3, 0);
+
+        repricingService.resumeRepricing(failedJob.getId());
+        RepricingJob finished = awaitEnd(failedJob.getId());
+
+        assertEquals(RepricingStatus.COMPLETED, finished.getStatus());
+        assertEquals(4, finished.getCompletedChunks());
+        assertEquals(10, finished.getUpdatedRows());
+        assertEquals(200.0, price(0));
+        assertEquals(600.0, price(2));
+        assertEquals(50.0, price(3));
+        assertEquals(50.0, price(9));
+    }
+
+    /**
+     * Test case for a rule that would make prices negative.
+     */
+    @Test
+    public void testInvalidRule() {
+        assertThrows(InvalidRepricingRuleException.class, () -> repricingService.startRepricing(
+                request(false, new RepricingRule(null, null, PriceAdjustment.PERCENT, -100))));
+    }
+
+    /**
+     * Test case for rules that would leave less than one cent once rounded, which must leave the price unchanged
+     * and count the product as skipped.
+     */
+    @Test
+    public void testRoundedPriceGuard() throws InterruptedException {
+        Long cheapId = productService.createProduct(new Product(null, "Cheap", 1.0, "Description", 1)).getId();
+
+        RepricingRule[] rules = {
+                new RepricingRule(null, 2.0, PriceAdjustment.PERCENT, -99.9),
+                new RepricingRule(null, 2.0, PriceAdjustment.AMOUNT, -0.996),
+                new RepricingRule(null, 300.0, PriceAdjustment.PERCENT, -99.9)};
+        assertEquals(1, repricingService.startRepricing(request(true, rules)).getSkippedRows());
+
+        RepricingJob job = repricingService.startRepricing(request(false, rules));
+
+        assertEquals(1, job.getMatchedRows());
+        RepricingJob finished = awaitEnd(job.getId());
+        assertEquals(RepricingStatus.COMPLETED, finished.getStatus());
+        assertEquals(1, finished.getUpdatedRows());
+        assertEquals(1, finished.getSkippedRows());
+        assertEquals(1.0, productRepository.findById(cheapId).orElseThrow().getPrice());
+        assertEquals(0.2, price(0));
+    }
+
+    /**
+     * Test case for a rule table too large to be stored with the job.
+     */
+    @Test
+    public void testRulesTooLong() {
+        List<RepricingRule> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rules.add(new RepricingRule(i * 1.0000000001, i + 0.9999999999, PriceAdjustment.PERCENT, 1.0000000001));
+        }
+
+        assertThrows(InvalidRepricingRuleException.class,
+                () -> repricingService.startRepricing(new RepricingRequest(rules, false)));
+    }
+
+    private double price(int index) {
+        return productRepository.findById(ids.get(index)).orElseThrow().getPrice();
+    }
+
+    private RepricingJob awaitEnd(Long jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            RepricingJob job = repricingService.getRepricingJob(jobId);
+            if (job.getStatus() != RepricingStatus.RUNNING) {
+                return job;
+            }
+            Thread.sleep(100);
+        }
+        return fail("Repricing job did not finish");
+    }
+
+    private static RepricingRequest request(boolean dryRun, RepricingRule... rules) {
+        return new RepricingRequest(List.of(rules), dryRun);
+    }
+}